@@ -20,23 +20,38 @@ CREATE TABLE posts (
     title VARCHAR(255) NOT NULL,
     content VARCHAR(1000),
     count INT DEFAULT 0,
+    commentCount INT DEFAULT 0,
+    moderationStatus VARCHAR(20) DEFAULT 'APPROVED',
     createdAt DATETIME DEFAULT CURRENT_TIMESTAMP,
     updatedAt DATETIME DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (userId) REFERENCES users(userId)
 );
 
+-- 게시글 목록 (최신순 페이지, 커서 (createdAt, postId))
+CREATE INDEX idx_posts_created ON posts (createdAt, postId);
+
+-- 내 게시글 (작성자별 최신순 커서)
+CREATE INDEX idx_posts_user_created ON posts (userId, createdAt, postId);
+
+-- 비동기 필터링이 끝나지 않은 게시글 재예약
+CREATE INDEX idx_posts_moderation ON posts (moderationStatus, updatedAt);
+
 -- [comments] 댓글 테이블
 CREATE TABLE comments (
     commentId INT AUTO_INCREMENT PRIMARY KEY,
     postId INT NOT NULL,
     userId INT NOT NULL,
     content VARCHAR(1000),
+    moderationStatus VARCHAR(20) DEFAULT 'APPROVED',
     createdAt DATETIME DEFAULT CURRENT_TIMESTAMP,
     updatedAt DATETIME DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (postId) REFERENCES posts(postId),
     FOREIGN KEY (userId) REFERENCES users(userId)
 );
 
+-- 비동기 필터링이 끝나지 않은 댓글 재예약
+CREATE INDEX idx_comments_moderation ON comments (moderationStatus, updatedAt);
+
 -- [badwordLogs] 비속어 필터링 기록 테이블
 CREATE TABLE badwordLogs (
     logId INT AUTO_INCREMENT PRIMARY KEY,
@@ -51,6 +66,9 @@ CREATE TABLE badwordLogs (
     FOREIGN KEY (commentId) REFERENCES comments(commentId) ON DELETE SET NULL
 );
 
+-- 사용자별 비속어 이력 조회 (5개 단위 그룹)
+CREATE INDEX idx_badwordLogs_user_created ON badwordLogs (userId, createdAt, logId);
+
 -- [penaltyCounts] 사용자 비속어 누적 통계
 CREATE TABLE penaltyCounts (
     userId INT PRIMARY KEY,
@@ -0,0 +1,82 @@
+package com.example.final_backend;
+
+import com.example.final_backend.config.JwtConfig;
+import com.example.final_backend.entity.UserEntity;
+import com.example.final_backend.security.VerifiedClaims;
+import com.example.final_backend.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 1건당 AccessToken 검증 비용 비교 (./gradlew jmh)
+ * - legacyPerRequest : 기존 필터 흐름 (Claim 하나 꺼낼 때마다 JwtParser 생성 + 서명 검증, 요청당 4회)
+ * - verifyOncePerRequest : 기동 시 만든 JwtParser로 1회 검증 후 VerifiedClaims 재사용
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key-0123456789";
+
+    private JwtService jwtService;
+    private SecretKey key;
+    private String token;
+
+    @Setup
+    public void setup() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecret(SECRET);
+
+        jwtService = new JwtService(jwtConfig, null, null);
+        jwtService.init();
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+        UserEntity user = UserEntity.builder()
+                .id("benchmark")
+                .username("benchmark")
+                .email("benchmark@example.com")
+                .build();
+        token = jwtService.generateAccessToken(user, jwtService.newSessionId());
+    }
+
+    @Benchmark
+    public void legacyPerRequest(Blackhole blackhole) {
+        // 필터 : extractUsername → validateAccessToken : extractUsername, extractTokenType, isTokenExpired
+        blackhole.consume(legacyClaims(token).getSubject());
+        blackhole.consume(legacyClaims(token).getSubject());
+        blackhole.consume(legacyClaims(token).get("tokenType", String.class));
+        blackhole.consume(legacyClaims(token).getExpiration().before(new Date()));
+    }
+
+    @Benchmark
+    public void verifyOncePerRequest(Blackhole blackhole) {
+        VerifiedClaims claims = jwtService.verify(token);
+        blackhole.consume(claims.userId());
+        blackhole.consume(claims.isAccessToken());
+        blackhole.consume(claims.isExpired());
+    }
+
+    // 변경 전 extractAllClaims (호출마다 JwtParser 생성)
+    private Claims legacyClaims(String jwt) {
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(jwt)
+                .getBody();
+    }
+}
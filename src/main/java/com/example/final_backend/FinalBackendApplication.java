@@ -3,13 +3,21 @@ package com.example.final_backend;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Map;
 
 @EnableAsync
+@EnableScheduling
 @SpringBootApplication
 public class FinalBackendApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(FinalBackendApplication.class, args);
+        SpringApplication app = new SpringApplication(FinalBackendApplication.class);
+
+        // 프록시 응답 대기 중 DB 커넥션을 잡고 있지 않도록 OSIV 비활성화 (application.properties로 재정의 가능)
+        app.setDefaultProperties(Map.of("spring.jpa.open-in-view", "false"));
+        app.run(args);
     }
 
 }
@@ -1,16 +1,34 @@
 package com.example.final_backend.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
 /**
  *프록시 서버와 JWT 인증이 필요한 외부 요청을 자동 처리해주는 HTTP 클라이언트 설정 클래스
  * - RestTemplate Bean을 등록해 프록시 API와 HTTP 통신을 가능하게 함.
  * - JWT 토큰을 자동으로 헤더에 포함하여 인증된 요청을 보낼 수 있도록 설정함.
  * - RestTemplate 사용 시 매 요청마다 Authorization 헤더를 삽입해 보안 처리 자동화 역할 수행.
+ * - 커넥션 풀(keep-alive) + 연결/응답 타임아웃 적용 → 프록시 지연 시 요청 스레드가 무한정 묶이지 않도록 함.
+ * - proxy.http.http2=true 이면 JDK HttpClient(HTTP/2) 사용 (이 경우 풀 크기는 JDK 내부 관리)
  */
 
 @Configuration
@@ -21,10 +39,82 @@ public class PurgoClientConfig {
     @Value("${proxy.base-url}")
     private String baseUrl;
 
+    // 전체 최대 연결 수
+    @Value("${proxy.http.max-total:50}")
+    private int maxTotal;
+
+    // 프록시 서버(라우트)당 최대 연결 수
+    @Value("${proxy.http.max-per-route:20}")
+    private int maxPerRoute;
+
+    // 연결 수립 타임아웃
+    @Value("${proxy.http.connect-timeout-ms:1000}")
+    private long connectTimeoutMs;
+
+    // 응답 대기 타임아웃
+    @Value("${proxy.http.response-timeout-ms:3000}")
+    private long responseTimeoutMs;
+
+    // 풀에서 연결을 빌려올 때 최대 대기 시간
+    @Value("${proxy.http.pool-timeout-ms:500}")
+    private long poolTimeoutMs;
+
+    // 유휴 연결 유지 시간 (keep-alive)
+    @Value("${proxy.http.keep-alive-ms:30000}")
+    private long keepAliveMs;
+
+    // 이 시간 이상 쓰지 않은 연결은 정리
+    @Value("${proxy.http.idle-evict-ms:60000}")
+    private long idleEvictMs;
+
+    @Value("${proxy.http.http2:false}")
+    private boolean http2;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager purgoConnectionManager(MeterRegistry meterRegistry) {
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                .setSocketTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(5))
+                .build();
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(connectionConfig)
+                .build();
+
+        // 풀 사용량 지표 (httpcomponents.httpclient.pool.*)
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "purgo").bindTo(meterRegistry);
+
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient purgoHttpClient(PoolingHttpClientConnectionManager purgoConnectionManager) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+                .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(purgoConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(keepAliveMs))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictMs))
+                .build();
+    }
+
     @Bean
-    public RestTemplate purgoRestTemplate(RestTemplateBuilder builder) {
+    public RestTemplate purgoRestTemplate(RestTemplateBuilder builder, CloseableHttpClient purgoHttpClient) {
+        ClientHttpRequestFactory requestFactory = http2
+                ? http2RequestFactory()
+                : new HttpComponentsClientHttpRequestFactory(purgoHttpClient);
+
         return builder
                 .rootUri(baseUrl)
+                .requestFactory(() -> requestFactory)
                 .additionalInterceptors((request, body, execution) -> {
                     request.getHeaders().set("Authorization", "Bearer " + apiKey);
                     return execution.execute(request, body);
@@ -32,5 +122,14 @@ public class PurgoClientConfig {
                 .build();
     }
 
+    private ClientHttpRequestFactory http2RequestFactory() {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
 
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(responseTimeoutMs));
+        return requestFactory;
+    }
 }
@@ -4,6 +4,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 /**
@@ -11,6 +12,7 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
  * - RedisTemplate을 커스터마이징해 Redis에 저장되는 key/value의 직렬화 방식 지정
  * - RedisConnectionFactory를 통해 Redis와 연결 후 RedisTemplate 객체 생성
  * - JWT 토큰 관리는 설정된 RedisTemplate으로 접근
+ * - 서버 간 상태 동기화(pub/sub)용 메시지 리스너 컨테이너 등록
  */
 
 @Configuration
@@ -28,4 +30,12 @@ public class RedisConfig {
 
         return template;
     }
+
+    // Redis pub/sub 구독용 컨테이너 (각 서비스가 채널별 리스너 등록)
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
 }
@@ -74,7 +74,7 @@ public class SecurityConfig {
                         ).permitAll()
 
                         // 검색 관련 인증 경로
-                        .requestMatchers(HttpMethod.GET, "/api/search").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/search", "/api/search/cursor").permitAll()
 
                         // 게시글 관련 인증 경로
                         .requestMatchers(HttpMethod.GET, "/api/post/**").permitAll()
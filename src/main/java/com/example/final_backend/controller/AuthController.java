@@ -2,10 +2,14 @@ package com.example.final_backend.controller;
 
 import com.example.final_backend.dto.AuthDto;
 import com.example.final_backend.dto.JwtDto;
+import com.example.final_backend.security.TooManyRequestsException;
+import com.example.final_backend.security.VerifiedClaims;
 import com.example.final_backend.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -30,6 +34,10 @@ public class AuthController {
         try {
             authService.signup(dto);
             return ResponseEntity.ok("회원가입이 완료되었습니다");
+        } catch (TooManyRequestsException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                    .body(e.getMessage());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -39,9 +47,10 @@ public class AuthController {
     @Operation(summary = "로그인", description = "회원 정보를 받아 로그인을 진행하고 로그인 성공 시 토큰을 발급합니다.")
     @ApiResponse(responseCode = "200", description = "로그인 성공")
     @PostMapping("/login")
-    public ResponseEntity<Map<String, Object>> login(@RequestBody AuthDto.LoginRequest loginRequest) {
+    public ResponseEntity<Map<String, Object>> login(@RequestBody AuthDto.LoginRequest loginRequest, HttpServletRequest request) {
         try {
-            AuthDto.LoginResponse response = authService.login(loginRequest);
+            // 로드밸런서 뒤에서는 server.forward-headers-strategy 설정 시 X-Forwarded-For의 실제 클라이언트 IP
+            AuthDto.LoginResponse response = authService.login(loginRequest, request.getRemoteAddr());
 
             // 응답 바디에는 필요한 최소 정보만 전달 (isActive)
             Map<String, Object> body = new HashMap<>();
@@ -53,6 +62,13 @@ public class AuthController {
                     .header("Authorization", "Bearer " + response.getAccessToken())
                     .header("Refresh-Token", response.getRefreshToken())
                     .body(body);
+        } catch (TooManyRequestsException e) {
+            // 시도 제한 또는 비밀번호 검증 대기열 초과
+            Map<String, Object> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                    .body(error);
         } catch (IllegalArgumentException e) {
             Map<String, Object> error = new HashMap<>();
             error.put("message", "로그인 실패");
@@ -75,6 +91,9 @@ public class AuthController {
                     .body("토큰 재발급 성공");
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body("토큰 재발급 실패");
+        } catch (IllegalStateException e) {
+            // 같은 RefreshToken으로 다른 요청이 먼저 재발급함 → 새 토큰으로 재시도
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("이미 재발급된 토큰");
         }
     }
 
@@ -83,8 +102,8 @@ public class AuthController {
     @Operation(summary = "로그아웃", description = "회원 정보를 받아 로그아웃을 진행하고 발급된 토큰을 삭제 및 블랙리스트 처리합니다.")
     @ApiResponse(responseCode = "200", description = "로그아웃 성공")
     @PostMapping("/logout")
-    public ResponseEntity<String> logout(@RequestHeader("Authorization") String accessToken) {
-        authService.logout(accessToken);
+    public ResponseEntity<String> logout(@RequestHeader("Authorization") String accessToken, HttpServletRequest request) {
+        authService.logout(accessToken, VerifiedClaims.from(request));
         return ResponseEntity.ok("로그아웃 되었습니다.");
     }
 
@@ -130,7 +149,14 @@ public class AuthController {
         String id = request.get("id");
         String email = request.get("email");
         String newPw = request.get("newPw");
-        authService.resetPassword(id, email, newPw);
-        return ResponseEntity.ok("비밀번호가 성공적으로 변경되었습니다.");
+        try {
+            authService.resetPassword(id, email, newPw);
+            return ResponseEntity.ok("비밀번호가 성공적으로 변경되었습니다.");
+        } catch (TooManyRequestsException e) {
+            // 비밀번호 해싱 대기열 초과
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                    .body(e.getMessage());
+        }
     }
 }
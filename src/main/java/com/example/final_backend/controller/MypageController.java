@@ -1,5 +1,6 @@
 package com.example.final_backend.controller;
 
+import com.example.final_backend.dto.PenaltyDto;
 import com.example.final_backend.dto.ProfileDto;
 import com.example.final_backend.security.CustomUserDetails;
 import com.example.final_backend.service.UserPenaltyService;
@@ -83,4 +84,18 @@ public class MypageController {
         Map<String, Object> result = userPenaltyService.getLimitInfo(userDetails.getId());
         return ResponseEntity.ok(result);
     }
+
+
+    // 제한 이력 그룹 페이지 조회
+    @GetMapping("/limits/groups")
+    @Operation(summary = "제한 이력 조회 (페이지)", description = "비속어 사용 로그를 5개 단위 그룹으로 나눠 요청한 페이지만 반환합니다.")
+    @ApiResponse(responseCode = "200", description = "제한 이력이 성공적으로 반환됩니다.")
+    @SecurityRequirement(name = "bearerAuth")
+    public ResponseEntity<PenaltyDto.LogGroupPage> getLimitHistory(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(userPenaltyService.getLimitHistory(userDetails.getId(), page, size));
+    }
 }
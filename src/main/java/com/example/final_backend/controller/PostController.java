@@ -6,6 +6,7 @@ import com.example.final_backend.service.PostService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -44,12 +45,35 @@ public class PostController {
         return ResponseEntity.ok(posts);
     }
 
+    // 게시물 목록 조회 (커서 기반, 전체 개수 없이 nextCursor로 다음 페이지 요청)
+    @Operation(summary = "전체 게시물 조회 (커서)", description = "최신순으로 게시물을 조회합니다. 첫 페이지는 cursor 없이, 이후에는 응답의 nextCursor를 전달합니다.")
+    @ApiResponse(responseCode = "200", description = "게시글 목록과 다음 페이지 커서가 반환됩니다.")
+    @GetMapping("/list/cursor")
+    public ResponseEntity<PostDto.CursorPage> getPostsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "8") int size
+    ) {
+        try {
+            return ResponseEntity.ok(postService.getPostsByCursor(cursor, size));
+        } catch (IllegalArgumentException e) {
+            // 잘못된 커서
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // 게시물 상세 조회
     @Operation(summary = "상세 게시물 조회", description = "게시물 ID를 통해 해당 게시물의 상세 정보를 조회합니다.")
     @ApiResponse(responseCode = "200", description = "지정한 ID에 해당하는 게시물의 상세 정보가 반환됩니다.")
     @GetMapping("/{postId}")
-    public ResponseEntity<PostDto.CheckDetailsResponse> getPost(@PathVariable int postId, @RequestParam(defaultValue = "true") boolean increaseView) {
-        return ResponseEntity.ok(postService.getPostById(postId, increaseView));
+    public ResponseEntity<PostDto.CheckDetailsResponse> getPost(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable int postId,
+            @RequestParam(defaultValue = "true") boolean increaseView,
+            HttpServletRequest request
+    ) {
+        // 순 방문자 식별 : 로그인 사용자는 로그인 ID, 비로그인은 IP
+        String viewer = userDetails != null ? "user:" + userDetails.getId() : "ip:" + request.getRemoteAddr();
+        return ResponseEntity.ok(postService.getPostById(postId, increaseView, viewer));
     }
 
     // 게시물 생성
@@ -112,4 +136,22 @@ public class PostController {
 
         return ResponseEntity.ok(posts);
     }
-}
\ No newline at end of file
+
+    // 내 게시글 조회 (커서 기반)
+    @Operation(summary = "내 게시물 조회 (커서)", description = "로그인한 사용자가 작성한 게시글을 최신순으로 조회합니다. 이후 페이지는 응답의 nextCursor를 전달합니다.")
+    @ApiResponse(responseCode = "200", description = "사용자가 작성한 게시글 목록과 다음 페이지 커서가 반환됩니다.")
+    @SecurityRequirement(name = "bearerAuth")
+    @GetMapping("/my/cursor")
+    public ResponseEntity<PostDto.CursorPage> getMyPostsByCursor(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "5") int size
+    ) {
+        try {
+            return ResponseEntity.ok(postService.getMyPostsByCursor(userDetails.getUserId(), cursor, size));
+        } catch (IllegalArgumentException e) {
+            // 잘못된 커서
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
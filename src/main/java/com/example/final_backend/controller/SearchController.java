@@ -47,5 +47,23 @@ public class SearchController {
 
         return ResponseEntity.ok(results);
     }
-}
 
+    @Operation(
+            summary = "게시글 검색 (커서)",
+            description = "키워드를 기준으로 최신순 검색합니다. 첫 페이지는 cursor 없이, 이후에는 응답의 nextCursor를 전달합니다."
+    )
+    @ApiResponse(responseCode = "200", description = "검색된 게시글 목록과 다음 페이지 커서가 반환됩니다.")
+    @GetMapping("/cursor")
+    public ResponseEntity<PostDto.CursorPage> searchPostsByCursor(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "8") int size
+    ) {
+        try {
+            return ResponseEntity.ok(postService.searchPostsByCursor(keyword, cursor, size));
+        } catch (IllegalArgumentException e) {
+            // 잘못된 커서
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.final_backend.dto;
 
 import com.example.final_backend.entity.CommentEntity;
+import com.example.final_backend.entity.ModerationStatus;
 import com.example.final_backend.entity.UserEntity;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -15,6 +16,9 @@ import java.time.LocalDateTime;
 
 public class CommentDto {
 
+    // 필터링 대기 중인 댓글 내용 대체 문구
+    private static final String PENDING_CONTENT = "검토 중인 댓글입니다.";
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -33,6 +37,7 @@ public class CommentDto {
         private String content;
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
+        private ModerationStatus moderationStatus; // 욕설 필터링 상태
 
         // 프론트 전달용 데이터
         private LocalDateTime endDate;  // 제한 끝나는 시간
@@ -50,6 +55,7 @@ public class CommentDto {
                     .content(comment.getContent())
                     .createdAt(comment.getCreatedAt())
                     .updatedAt(comment.getUpdatedAt())
+                    .moderationStatus(comment.getModerationStatus())
                     .endDate(endDate)
                     .isActive(isActive)
                     .build();
@@ -73,7 +79,8 @@ public class CommentDto {
                     .commentId(comment.getCommentId())
                     .userId(comment.getUser().getId())
                     .username(comment.getUser().getUsername())
-                    .content(comment.getContent())
+                    .content(ModerationStatus.isPending(comment.getModerationStatus())
+                            ? PENDING_CONTENT : comment.getContent())
                     .createdAt(comment.getCreatedAt())
                     .updatedAt(comment.getUpdatedAt())
                     .build();
@@ -0,0 +1,85 @@
+package com.example.final_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 욕설 필터링(프록시) 판정 결과 관련 DTO
+ */
+
+public class FilterDto {
+
+    // 프록시 판정 결과 (final_decision, rewritten_text)
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FilterResult {
+        private boolean abusive;
+        private String rewrittenText;
+
+        // 프록시 판정이 아닌 임시 결과 (프록시 장애 시 대체 처리, 캐시/패널티 대상 아님)
+        private boolean provisional;
+
+        public static FilterResult of(boolean abusive, String rewrittenText) {
+            return FilterResult.builder()
+                    .abusive(abusive)
+                    .rewrittenText(rewrittenText)
+                    .build();
+        }
+
+        // 비속어가 없는 경우 원문 그대로 사용
+        public static FilterResult clean(String text) {
+            return of(false, text);
+        }
+
+        public static FilterResult provisional(String text) {
+            return FilterResult.builder()
+                    .rewrittenText(text)
+                    .provisional(true)
+                    .build();
+        }
+    }
+
+    // 프록시 단일 판정 응답 {"final_decision": 0|1, "result": {"rewritten_text": ...}}
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class ProxyResponse {
+        @JsonProperty("final_decision")
+        private String finalDecision;
+
+        private ProxyResult result;
+
+        // 판정 결과로 변환 (result가 없으면 원문 그대로)
+        public FilterResult toFilterResult(String text) {
+            String rewritten = result != null ? result.getRewrittenText() : text;
+            return FilterResult.of("1".equals(finalDecision), rewritten);
+        }
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class ProxyResult {
+        @JsonProperty("rewritten_text")
+        private String rewrittenText;
+    }
+
+    // 프록시 일괄 판정 응답 {"results": [...]} (요청 순서 유지)
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class ProxyBatchResponse {
+        private List<ProxyResponse> results;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.final_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 비속어 사용 이력(5개 단위 그룹) 조회 관련 DTO
+ */
+
+public class PenaltyDto {
+
+    // 그룹에 포함된 로그 1건
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LogItem {
+        private String originalWord;
+        private String filteredWord;
+        private LocalDateTime createdAt;
+    }
+
+    // 로그 5개 그룹 (그룹 마지막 로그 시각부터 24시간 제한)
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LogGroup {
+        private LocalDateTime startDate;
+        private LocalDateTime endDate;
+        private List<LogItem> logs;
+
+        public static LogGroup of(LocalDateTime startDate, List<LogItem> logs) {
+            return LogGroup.builder()
+                    .startDate(startDate)
+                    .endDate(startDate.plusHours(24))
+                    .logs(logs)
+                    .build();
+        }
+    }
+
+    // 그룹 페이지 응답
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LogGroupPage {
+        private int page;
+        private int size;
+        private long totalGroups;
+        private boolean hasNext;
+        private List<LogGroup> groups;
+
+        public static LogGroupPage of(int page, int size, long totalGroups, List<LogGroup> groups) {
+            return LogGroupPage.builder()
+                    .page(page)
+                    .size(size)
+                    .totalGroups(totalGroups)
+                    .hasNext((long) (page + 1) * size < totalGroups)
+                    .groups(groups)
+                    .build();
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.example.final_backend.dto;
 
+import com.example.final_backend.entity.ModerationStatus;
 import com.example.final_backend.entity.PostEntity;
 import com.example.final_backend.entity.UserEntity;
 import lombok.*;
+import org.springframework.data.domain.Slice;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
 
 /**
  * 게시글 작성, 수정, 조회 시 사용하는 Dto
@@ -12,6 +17,9 @@ import java.time.LocalDateTime;
 
 public class PostDto {
 
+    // 필터링 대기 중인 게시글 제목 대체 문구
+    private static final String PENDING_TITLE = "검토 중인 게시글입니다.";
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -34,6 +42,7 @@ public class PostDto {
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
         private int count;          // 조회수
+        private ModerationStatus moderationStatus; // 욕설 필터링 상태
 
         // 프론트 전달용 데이터
         private LocalDateTime endDate;  // 제한 끝나는 시간
@@ -52,6 +61,7 @@ public class PostDto {
                     .createdAt(post.getCreatedAt())
                     .updatedAt(post.getUpdatedAt())
                     .count(post.getCount())
+                    .moderationStatus(post.getModerationStatus())
                     .endDate(endDate)
                     .isActive(isActive)
                     .build();
@@ -71,15 +81,18 @@ public class PostDto {
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
         private int count;          // 조회수
+        private Long uniqueViews;   // 순 방문자 수 (HyperLogLog 추정치, 미사용 시 null)
         private int commentCount;   // 해당 게시글에 달린 댓글 수
 
         public static CheckPostResponse of(PostEntity post) {
+            boolean pending = ModerationStatus.isPending(post.getModerationStatus());
+
             return CheckPostResponse.builder()
                     .postId(post.getPostId())
                     .userId(post.getUser().getId())
                     .username(post.getUser().getUsername())
-                    .title(post.getTitle())
-                    .content(post.getContent())
+                    .title(pending ? PENDING_TITLE : post.getTitle())
+                    .content(pending ? "" : post.getContent())
                     .createdAt(post.getCreatedAt())
                     .updatedAt(post.getUpdatedAt())
                     .count(post.getCount())
@@ -102,14 +115,17 @@ public class PostDto {
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
         private int count; // 조회수
+        private Long uniqueViews; // 순 방문자 수 (HyperLogLog 추정치, 미사용 시 null)
 
         public static CheckDetailsResponse of(PostEntity post) {
+            boolean pending = ModerationStatus.isPending(post.getModerationStatus());
+
             return CheckDetailsResponse.builder()
                     .postId(post.getPostId())
                     .userId(post.getUser().getId())
                     .username(post.getUser().getUsername())
-                    .title(post.getTitle())
-                    .content(post.getContent())
+                    .title(pending ? PENDING_TITLE : post.getTitle())
+                    .content(pending ? "" : post.getContent())
                     .createdAt(post.getCreatedAt())
                     .updatedAt(post.getUpdatedAt())
                     .count(post.getCount())
@@ -117,4 +133,55 @@ public class PostDto {
         }
     }
 
-}
\ No newline at end of file
+    // 커서 기반 목록 응답 (전체 개수 없음, nextCursor로 다음 페이지 요청)
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CursorPage {
+        private List<CheckPostResponse> content;
+        private int size;
+        private boolean hasNext;
+        private String nextCursor;  // 다음 페이지 커서 (마지막 페이지면 null)
+
+        public static CursorPage of(Slice<CheckPostResponse> slice) {
+            List<CheckPostResponse> content = slice.getContent();
+            CheckPostResponse last = content.isEmpty() ? null : content.get(content.size() - 1);
+
+            return CursorPage.builder()
+                    .content(content)
+                    .size(content.size())
+                    .hasNext(slice.hasNext())
+                    .nextCursor(slice.hasNext() && last != null
+                            ? new Cursor(last.getCreatedAt(), last.getPostId()).encode()
+                            : null)
+                    .build();
+        }
+    }
+
+    // 목록 커서 (createdAt, postId 내림차순 기준 마지막 항목), 클라이언트에는 Base64 문자열로 전달
+    public record Cursor(LocalDateTime createdAt, int postId) {
+
+        // 첫 페이지 (모든 게시글보다 뒤)
+        public static final Cursor FIRST = new Cursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Integer.MAX_VALUE);
+
+        public String encode() {
+            String raw = createdAt + "|" + postId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        // null/빈 값이면 첫 페이지
+        public static Cursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) return FIRST;
+
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Integer.parseInt(raw.substring(separator + 1)));
+            } catch (Exception e) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+        }
+    }
+}
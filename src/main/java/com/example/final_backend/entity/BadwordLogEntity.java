@@ -47,17 +47,4 @@ public class BadwordLogEntity {
 
     // 비속어 사용 일자
     private LocalDateTime createdAt;
-
-    public static BadwordLogEntity of(UserEntity user, PostEntity post, CommentEntity comment, String original, String filtered) {
-        BadwordLogEntity log = new BadwordLogEntity();
-        log.setUser(user);
-        log.setPost(post);
-        log.setOriginalWord(original);
-        log.setFilteredWord(filtered);
-        log.setCreatedAt(LocalDateTime.now());
-        if (comment != null) {
-            log.setComment(comment);
-        }
-        return log;
-    }
 }
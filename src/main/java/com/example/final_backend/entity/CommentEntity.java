@@ -43,6 +43,10 @@ public class CommentEntity {
     // 댓글 수정 일자
     private LocalDateTime updatedAt;
 
+    // 욕설 필터링 상태 (비동기 필터링 시 PENDING)
+    @Enumerated(EnumType.STRING)
+    private ModerationStatus moderationStatus;
+
     // 댓글 작성 시 초기 설정
     public static CommentEntity create(UserEntity user, PostEntity post) {
         CommentEntity comment = new CommentEntity();
@@ -51,6 +55,7 @@ public class CommentEntity {
         comment.setCreatedAt(LocalDateTime.now());
         comment.setUpdatedAt(LocalDateTime.now());
         comment.setContent("임시"); // placeholder
+        comment.setModerationStatus(ModerationStatus.APPROVED);
         return comment;
     }
 }
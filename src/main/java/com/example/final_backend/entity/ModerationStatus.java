@@ -0,0 +1,22 @@
+package com.example.final_backend.entity;
+
+/**
+ * 게시글/댓글 욕설 필터링 상태
+ * - PENDING : 비동기 필터링 대기 중 (목록/상세 조회 시 내용 가림)
+ * - APPROVED : 필터링 완료 (기존 데이터는 null → APPROVED로 취급)
+ * - PROVISIONAL : 프록시 장애로 대체 처리(LOCAL/PASS/QUEUE)만 거친 상태 (내용은 보이지만 다음 수정 시 전체 재판정)
+ */
+public enum ModerationStatus {
+    PENDING,
+    APPROVED,
+    PROVISIONAL;
+
+    public static boolean isPending(ModerationStatus status) {
+        return status == PENDING;
+    }
+
+    // 프록시 판정을 마친 글인지 (수정 시 바뀐 문장만 재판정해도 되는지)
+    public static boolean isModerated(ModerationStatus status) {
+        return status == null || status == APPROVED;
+    }
+}
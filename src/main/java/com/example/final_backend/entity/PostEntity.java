@@ -43,16 +43,21 @@ public class PostEntity {
     // 게시물 수정 일자
     private LocalDateTime updatedAt;
 
-    // 게시물 조회수
+    // 게시물 조회수 (ViewCountService가 SQL로만 증가, 엔티티 저장 시 덮어쓰지 않음)
+    @Column(updatable = false)
     private int count;
 
+    // 욕설 필터링 상태 (비동기 필터링 시 PENDING)
+    @Enumerated(EnumType.STRING)
+    private ModerationStatus moderationStatus;
+
     // 댓글과 1대다 양방향 연결
     @JsonManagedReference
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL)
     private List<CommentEntity> comment;
 
-    // 게시물 댓글 수
-    @Transient // JPA가 DB 컬럼으로 인식하지 않음
+    // 게시물 댓글 수 (댓글 작성/삭제 시 SQL로 ±1, CommentCountRepairService가 주기적으로 보정)
+    @Column(insertable = false, updatable = false)
     private int commentCount;
 
     public static PostEntity create(UserEntity user, String title, String content) {
@@ -61,6 +66,7 @@ public class PostEntity {
         post.setTitle(title);
         post.setContent(content);
         post.setCount(0);
+        post.setModerationStatus(ModerationStatus.APPROVED);
         post.setCreatedAt(LocalDateTime.now());
         post.setUpdatedAt(LocalDateTime.now());
         return post;
@@ -18,6 +18,9 @@ import java.util.Optional;
 @Getter
 @Setter
 public class UserLimitsEntity {
+    // 이용 제한 기준 (욕설 감지 5회마다 제한)
+    public static final int PENALTY_THRESHOLD = 5;
+
     // 제한된 사용자
     @Id
     private int userId;
@@ -38,7 +41,7 @@ public class UserLimitsEntity {
 
     // 사용자 제한 처리를 위한 정적 메서드
     public static Optional<UserLimitsEntity> applyLimitIfNeeded(UserEntity user, UserLimitsEntity existing, int penaltyCount) {
-        if (penaltyCount % 5 != 0) return Optional.empty();
+        if (penaltyCount % PENALTY_THRESHOLD != 0) return Optional.empty();
 
         UserLimitsEntity limit = (existing != null) ? existing : new UserLimitsEntity();
 
@@ -0,0 +1,141 @@
+package com.example.final_backend.moderation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * 비속어 사전 기반 다중 패턴 매칭기 (Aho-Corasick)
+ * - 사전 단어 전체를 하나의 오토마톤으로 만들어 본문을 한 번만 훑어서 후보 단어를 찾음
+ * - 영문은 대소문자를 구분하지 않음
+ * - 생성 후에는 변경되지 않으므로 여러 스레드에서 동시에 사용 가능
+ */
+public class AhoCorasickMatcher {
+
+    // 매칭 결과 (본문 기준 시작 위치 포함, 끝 위치 미포함)
+    public record Match(int start, int end, String word) {
+    }
+
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final List<Integer> failure = new ArrayList<>();
+    private final List<String> output = new ArrayList<>();   // 해당 노드에서 끝나는 가장 긴 단어
+    private final List<Integer> dictSuffix = new ArrayList<>(); // 출력이 있는 가장 가까운 실패 노드
+    private final int size;
+
+    public AhoCorasickMatcher(Collection<String> words) {
+        newNode();
+        int count = 0;
+        for (String word : words) {
+            if (word == null || word.isBlank()) continue;
+            insert(word.strip());
+            count++;
+        }
+        this.size = count;
+        buildFailureLinks();
+    }
+
+    public static AhoCorasickMatcher empty() {
+        return new AhoCorasickMatcher(List.of());
+    }
+
+    // 등록된 단어 수
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // 본문에 사전 단어가 하나라도 포함되어 있는지 확인
+    public boolean containsAny(String text) {
+        if (text == null || isEmpty()) return false;
+
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, Character.toLowerCase(text.charAt(i)));
+            if (output.get(state) != null || dictSuffix.get(state) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 본문에서 사전 단어가 등장하는 모든 위치 반환
+    public List<Match> findAll(String text) {
+        List<Match> matches = new ArrayList<>();
+        if (text == null || isEmpty()) return matches;
+
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = next(state, Character.toLowerCase(text.charAt(i)));
+
+            for (int s = state; s != 0; s = dictSuffix.get(s)) {
+                String word = output.get(s);
+                if (word != null) {
+                    matches.add(new Match(i + 1 - word.length(), i + 1, word));
+                }
+            }
+        }
+        return matches;
+    }
+
+    private int newNode() {
+        transitions.add(new HashMap<>());
+        failure.add(0);
+        output.add(null);
+        dictSuffix.add(0);
+        return transitions.size() - 1;
+    }
+
+    private void insert(String word) {
+        int state = 0;
+        for (int i = 0; i < word.length(); i++) {
+            char c = Character.toLowerCase(word.charAt(i));
+            Integer child = transitions.get(state).get(c);
+            if (child == null) {
+                child = newNode();
+                transitions.get(state).put(c, child);
+            }
+            state = child;
+        }
+        output.set(state, word.toLowerCase());
+    }
+
+    // BFS로 실패 링크와 출력 링크 구성
+    private void buildFailureLinks() {
+        Queue<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+
+            for (Map.Entry<Character, Integer> entry : transitions.get(state).entrySet()) {
+                char c = entry.getKey();
+                int child = entry.getValue();
+
+                int f = failure.get(state);
+                while (f != 0 && !transitions.get(f).containsKey(c)) {
+                    f = failure.get(f);
+                }
+                Integer target = transitions.get(f).get(c);
+                int childFailure = (target != null && target != child) ? target : 0;
+
+                failure.set(child, childFailure);
+                dictSuffix.set(child, output.get(childFailure) != null ? childFailure : dictSuffix.get(childFailure));
+                queue.add(child);
+            }
+        }
+    }
+
+    private int next(int state, char c) {
+        while (state != 0 && !transitions.get(state).containsKey(c)) {
+            state = failure.get(state);
+        }
+        Integer target = transitions.get(state).get(c);
+        return target != null ? target : 0;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.final_backend.moderation;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 프록시 호출용 서킷 브레이커
+ * - 최근 N건의 호출 결과(실패/지연)를 링 버퍼로 관리
+ * - 실패율 또는 지연 호출 비율이 기준을 넘으면 OPEN → 일정 시간 동안 호출 차단
+ * - 차단 시간이 지나면 HALF_OPEN → 시험 호출 몇 건만 허용 후 결과에 따라 CLOSED / OPEN 결정
+ */
+public class ProxyCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;   // %
+    private final int slowCallRateThreshold;  // %
+    private final long slowCallMs;
+    private final long openDurationMs;
+    private final int halfOpenPermits;
+    private final LongSupplier clock;  // 현재 시각 (ms), 테스트에서 교체
+
+    // 링 버퍼 (0: 정상, 1: 실패, 2: 지연, 3: 실패 + 지연)
+    private final byte[] outcomes;
+    private int index;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenInFlight;
+    private int halfOpenSucceeded;
+
+    public ProxyCircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold,
+                               int slowCallRateThreshold, long slowCallMs, long openDurationMs, int halfOpenPermits) {
+        this(windowSize, minimumCalls, failureRateThreshold, slowCallRateThreshold, slowCallMs, openDurationMs,
+                halfOpenPermits, System::currentTimeMillis);
+    }
+
+    public ProxyCircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold,
+                               int slowCallRateThreshold, long slowCallMs, long openDurationMs, int halfOpenPermits,
+                               LongSupplier clock) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallMs = slowCallMs;
+        this.openDurationMs = openDurationMs;
+        this.halfOpenPermits = halfOpenPermits;
+        this.clock = clock;
+        this.outcomes = new byte[windowSize];
+    }
+
+    // 호출 가능 여부 (HALF_OPEN 상태에서는 시험 호출 수만큼만 허용)
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openDurationMs) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight >= halfOpenPermits) {
+                return false;
+            }
+            halfOpenInFlight++;
+        }
+        return true;
+    }
+
+    // 허가를 받았지만 호출하지 못한 경우 반납
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenInFlight > 0) {
+            halfOpenInFlight--;
+        }
+    }
+
+    public synchronized void onSuccess(long elapsedMs) {
+        record(false, elapsedMs >= slowCallMs);
+    }
+
+    public synchronized void onError(long elapsedMs) {
+        record(true, elapsedMs >= slowCallMs);
+    }
+
+    public synchronized State getState() {
+        // 차단 시간이 지났으면 다음 호출에서 HALF_OPEN으로 전환됨
+        return state;
+    }
+
+    private void record(boolean failed, boolean slow) {
+        if (state == State.OPEN) {
+            return;
+        }
+
+        if (state == State.HALF_OPEN) {
+            halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+            if (failed || slow) {
+                transitionTo(State.OPEN);
+            } else if (++halfOpenSucceeded >= halfOpenPermits) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+
+        // 가장 오래된 결과를 빼고 새 결과 기록
+        if (recorded == windowSize) {
+            byte oldest = outcomes[index];
+            if ((oldest & 1) != 0) failures--;
+            if ((oldest & 2) != 0) slowCalls--;
+        } else {
+            recorded++;
+        }
+
+        outcomes[index] = (byte) ((failed ? 1 : 0) | (slow ? 2 : 0));
+        if (failed) failures++;
+        if (slow) slowCalls++;
+        index = (index + 1) % windowSize;
+
+        if (recorded >= minimumCalls
+                && (failures * 100 >= failureRateThreshold * recorded
+                || slowCalls * 100 >= slowCallRateThreshold * recorded)) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void transitionTo(State next) {
+        state = next;
+        halfOpenInFlight = 0;
+        halfOpenSucceeded = 0;
+
+        if (next == State.OPEN) {
+            openedAt = clock.getAsLong();
+        }
+        if (next == State.CLOSED) {
+            index = 0;
+            recorded = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+        System.out.println("🔌 프록시 서킷 브레이커 상태 변경: " + next);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.final_backend.moderation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 문장 단위 분할기 (수정 시 바뀐 문장만 다시 판정하기 위해 사용)
+ * - 문장 부호(. ! ? 。 …) 또는 줄바꿈에서 나누고, 뒤따르는 공백은 앞 문장에 포함
+ * - 분할 결과를 순서대로 이어 붙이면 원문과 정확히 같음
+ */
+public final class SentenceSegmenter {
+
+    private SentenceSegmenter() {
+    }
+
+    public static List<String> split(String text) {
+        List<String> segments = new ArrayList<>();
+        if (text == null || text.isEmpty()) return segments;
+
+        int start = 0;
+        int i = 0;
+        int length = text.length();
+
+        while (i < length) {
+            if (!isTerminator(text.charAt(i))) {
+                i++;
+                continue;
+            }
+
+            // 연속된 문장 부호 + 뒤따르는 공백까지 한 문장으로 묶음
+            while (i < length && isTerminator(text.charAt(i))) i++;
+            while (i < length && Character.isWhitespace(text.charAt(i))) i++;
+
+            segments.add(text.substring(start, i));
+            start = i;
+        }
+
+        if (start < length) {
+            segments.add(text.substring(start));
+        }
+        return segments;
+    }
+
+    private static boolean isTerminator(char c) {
+        return c == '.' || c == '!' || c == '?' || c == '。' || c == '…' || c == '\n';
+    }
+}
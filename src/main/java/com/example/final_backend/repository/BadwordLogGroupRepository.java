@@ -0,0 +1,74 @@
+package com.example.final_backend.repository;
+
+import com.example.final_backend.dto.PenaltyDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 비속어 로그 5개 단위 그룹 조회 Repository (JdbcTemplate)
+ * - 그룹 번호는 DB에서 윈도우 함수로 계산 (ROW_NUMBER, 인덱스 badwordLogs(userId, createdAt, logId) 사용)
+ * - 요청한 페이지의 그룹만 읽어서 바로 DTO로 변환 (엔티티/전체 이력을 메모리에 올리지 않음)
+ * - 5개가 채워지지 않은 마지막 그룹은 제외
+ */
+
+@Repository
+@RequiredArgsConstructor
+public class BadwordLogGroupRepository {
+    public static final int GROUP_SIZE = 5;
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM badwordLogs WHERE userId = ?";
+
+    private static final String GROUP_SQL =
+            "SELECT grp, originalWord, filteredWord, createdAt, " +
+            "       MAX(createdAt) OVER (PARTITION BY grp) AS groupStart " +
+            "FROM ( " +
+            "    SELECT logId, originalWord, filteredWord, createdAt, " +
+            "           (ROW_NUMBER() OVER (ORDER BY createdAt, logId) - 1) DIV " + GROUP_SIZE + " AS grp " +
+            "    FROM badwordLogs WHERE userId = ? " +
+            ") numbered " +
+            "WHERE grp >= ? AND grp < ? " +
+            "ORDER BY grp, createdAt, logId";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 완성된(5개) 그룹 수
+    public long countGroups(int userId) {
+        Long count = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, userId);
+        return count != null ? count / GROUP_SIZE : 0;
+    }
+
+    // [fromGroup, toGroup) 범위 그룹 조회
+    public List<PenaltyDto.LogGroup> findGroups(int userId, long fromGroup, long toGroup) {
+        List<PenaltyDto.LogGroup> groups = new ArrayList<>();
+        if (fromGroup >= toGroup) return groups;
+
+        List<PenaltyDto.LogItem> current = new ArrayList<>(GROUP_SIZE);
+        long[] currentGroup = {-1};
+
+        jdbcTemplate.query(GROUP_SQL, (RowCallbackHandler) rs -> {
+            long grp = rs.getLong("grp");
+
+            if (grp != currentGroup[0]) {
+                current.clear();
+                currentGroup[0] = grp;
+            }
+
+            current.add(PenaltyDto.LogItem.builder()
+                    .originalWord(rs.getString("originalWord"))
+                    .filteredWord(rs.getString("filteredWord"))
+                    .createdAt(rs.getTimestamp("createdAt").toLocalDateTime())
+                    .build());
+
+            if (current.size() == GROUP_SIZE) {
+                groups.add(PenaltyDto.LogGroup.of(rs.getTimestamp("groupStart").toLocalDateTime(), List.copyOf(current)));
+            }
+        }, userId, fromGroup, toGroup);
+
+        return groups;
+    }
+}
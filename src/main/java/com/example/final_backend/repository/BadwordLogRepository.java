@@ -2,12 +2,18 @@ package com.example.final_backend.repository;
 
 import com.example.final_backend.entity.BadwordLogEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * 비속어 로그 관리 Repository
  */
 
 @Repository
 public interface BadwordLogRepository extends JpaRepository<BadwordLogEntity, Integer> {
+    // 비속어 사전 구성용 원문/대체어 쌍
+    @Query("SELECT DISTINCT b.originalWord, b.filteredWord FROM BadwordLogEntity b")
+    List<Object[]> findDistinctWordPairs();
 }
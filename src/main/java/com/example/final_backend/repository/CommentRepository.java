@@ -1,11 +1,18 @@
 package com.example.final_backend.repository;
 
 import com.example.final_backend.entity.CommentEntity;
+import com.example.final_backend.entity.ModerationStatus;
 import com.example.final_backend.entity.PostEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  *  댓글 관리 Repository
@@ -13,6 +20,20 @@ import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<CommentEntity, Integer> {
-    // 게시글 ID 찾기
+    // 게시글 ID 찾기 (작성자 함께 조회)
+    @EntityGraph(attributePaths = "user")
     List<CommentEntity> findByPost(PostEntity post);
+
+    // 작성자/게시글까지 함께 조회 (트랜잭션 밖에서 작성자 확인용)
+    @EntityGraph(attributePaths = {"user", "post"})
+    Optional<CommentEntity> findWithUserByCommentId(int commentId);
+
+    // 비동기 필터링 결과 반영용 (같은 댓글을 여러 서버가 동시에 처리하지 않도록 행 잠금)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = {"user", "post"})
+    Optional<CommentEntity> findForModerationByCommentId(int commentId);
+
+    // 필터링이 끝나지 않은 채 남은 댓글 (인덱스 comments(moderationStatus, updatedAt))
+    List<CommentEntity> findByModerationStatusAndUpdatedAtBefore(ModerationStatus moderationStatus, LocalDateTime before,
+                                                                 Pageable pageable);
 }
\ No newline at end of file
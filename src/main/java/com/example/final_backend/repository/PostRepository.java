@@ -1,13 +1,21 @@
 package com.example.final_backend.repository;
 
+import com.example.final_backend.entity.ModerationStatus;
 import com.example.final_backend.entity.PostEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -23,18 +31,70 @@ public interface PostRepository extends JpaRepository<PostEntity, Integer> {
     // orElseThrow() 사용 시 타입 오류 없이 PostEntity로 받을 수 있음
     Optional<PostEntity> findByPostId(int postId);
 
-    // 게시글(PostEntity)과 연결된 댓글(CommentEntity)의 개수를 함께 조회하여 페이지로 반환
-    @Query("SELECT p, COUNT(c) as commentCount FROM PostEntity p LEFT JOIN p.comment c GROUP BY p")
-    Page<Object[]> findAllWithCommentCount(Pageable pageable);
+    // 작성자까지 함께 조회 (트랜잭션 밖에서 작성자 확인용)
+    @EntityGraph(attributePaths = "user")
+    Optional<PostEntity> findWithUserByPostId(int postId);
 
-    // 게시글 + 댓글 수 키워드 기반 검색 JPQL
+    // 비동기 필터링 결과 반영용 (같은 게시글을 여러 서버가 동시에 처리하지 않도록 행 잠금)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = "user")
+    Optional<PostEntity> findForModerationByPostId(int postId);
+
+    // 필터링이 끝나지 않은 채 남은 게시글 (인덱스 posts(moderationStatus, updatedAt))
+    List<PostEntity> findByModerationStatusAndUpdatedAtBefore(ModerationStatus moderationStatus, LocalDateTime before,
+                                                              Pageable pageable);
+
+    // 게시글 목록 (댓글 수는 posts.commentCount 컬럼, 작성자 함께 조회)
+    @EntityGraph(attributePaths = "user")
+    Page<PostEntity> findAllBy(Pageable pageable);
+
+    // 검색 색인 결과 페이지 조회 (작성자 함께 조회)
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<PostEntity> findAllById(Iterable<Integer> postIds);
+
+    // 게시글 키워드 검색 JPQL (검색 색인 사용 불가 시)
+    @EntityGraph(attributePaths = "user")
+    @Query("SELECT p FROM PostEntity p WHERE p.title LIKE %:keyword% OR p.content LIKE %:keyword%")
+    Page<PostEntity> findByKeyword(@Param("keyword") String keyword, Pageable pageable);
+
+    // 커서 기반 목록 : (createdAt, postId)가 커서보다 이전인 게시글 (인덱스 posts(createdAt, postId))
+    @EntityGraph(attributePaths = "user")
+    @Query("""
+    SELECT p FROM PostEntity p
+    WHERE p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.postId < :postId)
+    ORDER BY p.createdAt DESC, p.postId DESC
+    """)
+    Slice<PostEntity> findSliceBefore(@Param("createdAt") LocalDateTime createdAt, @Param("postId") int postId,
+                                      Pageable pageable);
+
+    // 커서 기반 키워드 검색
+    @EntityGraph(attributePaths = "user")
+    @Query("""
+    SELECT p FROM PostEntity p
+    WHERE p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.postId < :postId)
+      AND (p.title LIKE %:keyword% OR p.content LIKE %:keyword%)
+    ORDER BY p.createdAt DESC, p.postId DESC
+    """)
+    Slice<PostEntity> findSliceByKeywordBefore(@Param("keyword") String keyword,
+                                               @Param("createdAt") LocalDateTime createdAt, @Param("postId") int postId,
+                                               Pageable pageable);
+
+    // 커서 기반 내 게시글 (인덱스 posts(userId, createdAt, postId))
+    @EntityGraph(attributePaths = "user")
     @Query("""
-    SELECT p, COUNT(c) as commentCount
-    FROM PostEntity p
-    LEFT JOIN CommentEntity c ON c.post.postId = p.postId
-    WHERE p.title LIKE %:keyword% OR p.content LIKE %:keyword%
-    GROUP BY p
+    SELECT p FROM PostEntity p
+    WHERE p.user.userId = :userId
+      AND p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.postId < :postId)
+    ORDER BY p.createdAt DESC, p.postId DESC
     """)
-    Page<Object[]> findAllWithCommentCountByKeyword(@Param("keyword") String keyword, Pageable pageable);
+    Slice<PostEntity> findSliceByUserBefore(@Param("userId") int userId,
+                                            @Param("createdAt") LocalDateTime createdAt, @Param("postId") int postId,
+                                            Pageable pageable);
+
+    // 댓글 수 원자적 증감 (음수 방지)
+    @Modifying
+    @Query(value = "UPDATE posts SET commentCount = GREATEST(commentCount + :delta, 0) WHERE postId = :postId", nativeQuery = true)
+    int addCommentCount(@Param("postId") int postId, @Param("delta") int delta);
 
 }
@@ -2,8 +2,15 @@ package com.example.final_backend.repository;
 
 import com.example.final_backend.entity.UserLimitsEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -14,4 +21,21 @@ import java.util.Optional;
 public interface UserLimitsRepository extends JpaRepository<UserLimitsEntity, Integer> {
     // 사용자 id 찾기
     Optional<UserLimitsEntity> findByUserId(int userId);
+
+    // 현재 제한 중인 사용자 목록
+    List<UserLimitsEntity> findByIsActiveFalse();
+
+    // 제한 기간이 끝난 사용자 해제 (이미 해제된 경우 0 반환)
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserLimitsEntity l SET l.isActive = true, l.startDate = null, l.endDate = null " +
+            "WHERE l.userId = :userId AND l.isActive = false AND l.endDate <= :now")
+    int releaseIfExpired(@Param("userId") int userId, @Param("now") LocalDateTime now);
+
+    // 제한 기간이 끝난 사용자 일괄 해제
+    @Transactional
+    @Modifying
+    @Query("UPDATE UserLimitsEntity l SET l.isActive = true, l.startDate = null, l.endDate = null " +
+            "WHERE l.userId IN :userIds AND l.isActive = false AND l.endDate <= :now")
+    int releaseAllExpired(@Param("userIds") Collection<Integer> userIds, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
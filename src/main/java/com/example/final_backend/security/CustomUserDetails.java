@@ -26,26 +26,39 @@ import java.util.List;
 public class CustomUserDetails implements UserDetails {
 
     private final UserEntity user;
+    private final UserSnapshot snapshot;
+
     // 외부에서 UserEntity를 주입받아 CustomUserDetails로 감쌈
     public CustomUserDetails(UserEntity user) {
         this.user = user;
+        this.snapshot = UserSnapshot.of(user);
+    }
+
+    // 토큰 Claims + 사용자 스냅샷으로 생성 (DB 조회 없음, user는 null)
+    public CustomUserDetails(UserSnapshot snapshot) {
+        this.user = null;
+        this.snapshot = snapshot;
     }
 
     public String getId() {
 
-        return user.getId();  // 로그인 식별자
+        return snapshot.id();  // 로그인 식별자
+    }
+
+    public int getUserId() {
+        return snapshot.userId();  // 사용자 식별 번호
     }
 
     //UserDetails 필수 구현 메서드
     @Override
     public String getUsername() {
 
-        return user.getId();  // ID가 username 역할
+        return snapshot.id();  // ID가 username 역할
     }
 
     @Override
     public String getPassword() {
-        return user.getPw();
+        return user != null ? user.getPw() : null;  // 스냅샷 모드에서는 비밀번호를 보관하지 않음
     }
 
     // 왜 각 유저마다 ROLE_USER를 부여하는가?
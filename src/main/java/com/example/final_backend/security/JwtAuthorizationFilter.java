@@ -2,11 +2,13 @@ package com.example.final_backend.security;
 
 import com.example.final_backend.service.JwtService;
 import com.example.final_backend.service.UserDetailsServiceImpl;
+import com.example.final_backend.service.UserSnapshotCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -22,6 +24,7 @@ import java.io.IOException;
  * 모든 요청 전에 실행되는 JWT 인증 필터(OncePerRequestFilter 상속)
  * - 사용자가 요청할 때 JWT 토큰이 유효한지 확인하고, 인증된 사용자로 등록하는 JWT 인증 필터
  * - Authorization 헤더에서 토큰 추출 -> 검증 -> SecuriyContext 등록
+ * - 사용자 정보는 기본적으로 스냅샷 캐시에서 구성 (auth.principal.mode=db 이면 매 요청 DB 조회)
  */
 
 @Component
@@ -31,6 +34,10 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsServiceImpl userDetailsService;
+    private final UserSnapshotCache userSnapshotCache;
+
+    @Value("${auth.principal.mode:snapshot}")
+    private String principalMode;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -45,17 +52,26 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
             return;
         }
 
-        // 2. 토큰에서 userId 추출
+        // 2. 토큰 서명 검증 1회 -> Claims 추출 후 요청 속성에 저장 (이후 단계에서 재사용)
         String token = authHeader.substring(7); // "Bearer " 이후 실제 토큰만 추출
-        String userId = jwtService.extractUsername(token);
+        VerifiedClaims claims = jwtService.verify(token);
+        if (claims == null) {
+            filterChain.doFilter(request, response); // 위조·만료 토큰은 인증 없이 넘김
+            return;
+        }
+        request.setAttribute(VerifiedClaims.ATTRIBUTE, claims);
 
         // 3. SecurityContext에 인증이 없는 경우에만 실행
-        if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // 4. DB에서 사용자 조회 -> 토큰 검증
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userId);
+        if (claims.userId() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // 4. 사용자 정보 구성 -> 토큰 검증
+            UserDetails userDetails = loadPrincipal(claims);
+            if (userDetails == null) {
+                filterChain.doFilter(request, response); // 탈퇴 등으로 사용자가 없으면 인증 없이 넘김
+                return;
+            }
 
             // validateAccessToken 메서드는 블랙리스트 확인을 포함
-            if (jwtService.validateAccessToken(token, userDetails)) {
+            if (jwtService.validateAccessToken(claims, userDetails)) {
                 // 5. 인증 객체 생성 및 등록
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
@@ -67,4 +83,14 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
         // 6. 다음 필터로 진행
         filterChain.doFilter(request, response);
     }
+
+    // snapshot : 토큰 Claims + 사용자 스냅샷 캐시 (캐시 적중 시 DB 조회 없음) | db : 매 요청 DB 조회
+    private UserDetails loadPrincipal(VerifiedClaims claims) {
+        if ("db".equalsIgnoreCase(principalMode)) {
+            return userDetailsService.loadUserByUsername(claims.userId());
+        }
+
+        UserSnapshot snapshot = userSnapshotCache.get(claims.userId());
+        return snapshot != null ? new CustomUserDetails(snapshot) : null;
+    }
 }
@@ -0,0 +1,18 @@
+package com.example.final_backend.security;
+
+/**
+ * 로그인 폭주 제한 (429 Too Many Requests)
+ * - retryAfterSeconds : 응답 Retry-After 헤더 값
+ */
+public class TooManyRequestsException extends IllegalStateException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
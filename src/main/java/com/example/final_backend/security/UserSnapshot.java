@@ -0,0 +1,15 @@
+package com.example.final_backend.security;
+
+import com.example.final_backend.entity.UserEntity;
+
+/**
+ * 인증 필터에서 사용하는 가벼운 사용자 정보 (엔티티/연관관계 없이 캐시 가능)
+ * - userId : 사용자 식별 번호, id : 로그인 ID
+ * - 이용 제한 여부는 캐시하지 않음 (RestrictionIndexService에서 확인)
+ */
+public record UserSnapshot(int userId, String id, String username) {
+
+    public static UserSnapshot of(UserEntity user) {
+        return new UserSnapshot(user.getUserId(), user.getId(), user.getUsername());
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.final_backend.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 서명 검증을 마친 JWT Claims (요청당 1회 파싱 결과)
+ * - JwtAuthorizationFilter가 검증 후 요청 속성에 저장
+ * - 이후 단계(로그아웃 등)는 토큰을 다시 파싱하지 않고 이 값을 사용
+ * - tokenId(jti) : 토큰 고유 ID, sessionId(sid) : 로그인 세션(기기) ID (이전 버전 토큰은 null)
+ * - blacklistId : 블랙리스트 등록/확인 키 (jti, 이전 버전 토큰은 토큰 원문 해시)
+ */
+public record VerifiedClaims(String userId, String tokenType, String tokenId, String sessionId,
+                             long issuedAtMs, long expirationMs, String blacklistId) {
+
+    public static final String ATTRIBUTE = VerifiedClaims.class.getName();
+
+    public boolean isAccessToken() {
+        return "access".equals(tokenType);
+    }
+
+    public boolean isRefreshToken() {
+        return "refresh".equals(tokenType);
+    }
+
+    // jti/sid가 없는 이전 버전 토큰 (Redis 세션 없음)
+    public boolean isLegacy() {
+        return tokenId == null || sessionId == null;
+    }
+
+    public boolean isExpired() {
+        return expirationMs <= System.currentTimeMillis();
+    }
+
+    // 만료까지 남은 시간 (ms)
+    public long remainingMs() {
+        return expirationMs - System.currentTimeMillis();
+    }
+
+    // 요청 속성에 저장된 검증 결과 (없으면 null)
+    public static VerifiedClaims from(HttpServletRequest request) {
+        Object value = request.getAttribute(ATTRIBUTE);
+        return value instanceof VerifiedClaims claims ? claims : null;
+    }
+}
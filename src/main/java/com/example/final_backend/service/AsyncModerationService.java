@@ -0,0 +1,296 @@
+package com.example.final_backend.service;
+
+import com.example.final_backend.dto.FilterDto;
+import com.example.final_backend.entity.CommentEntity;
+import com.example.final_backend.entity.ModerationStatus;
+import com.example.final_backend.entity.PostEntity;
+import com.example.final_backend.moderation.ProxyCircuitBreaker;
+import com.example.final_backend.repository.CommentRepository;
+import com.example.final_backend.repository.PostRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비동기 욕설 필터링 파이프라인 (moderation.async.enabled=true 일 때 사용)
+ * - 게시글/댓글은 PENDING 상태로 바로 저장하고 응답
+ * - 트랜잭션 커밋 후 전용 작업 스레드에서 필터링(트랜잭션 밖) → 대체어 반영, 로그 저장, 패널티 적용 후 APPROVED (대체 처리만 된 경우 PROVISIONAL)
+ * - 작업 대기열이 가득 차면 요청 스레드에서 직접 처리 (프록시 폭주 시 자연스러운 속도 조절)
+ * - 작업은 메모리 대기열에만 있으므로 기동 시 + 주기적으로 오래된 PENDING 글을 다시 예약 (재시작/장애 시 유실 보정)
+ * - 종료 시 대기열에 남은 작업을 drain-timeout-ms 동안 마저 처리, 못 끝낸 작업은 다음 기동 시 다시 예약
+ * - 결과 반영은 행 잠금 후 PENDING일 때만 (여러 서버가 같은 글을 다시 예약해도 패널티 중복 없음)
+ * - 검색 색인에는 필터링이 끝난 제목/내용만 반영
+ * - 검토 대기열(ModerationReviewQueue, fallback QUEUE 모드) 소비 : 서킷이 닫혀 있을 때 주기적으로 꺼내
+ *   PROVISIONAL 상태인 글만 전체 재판정 (다시 대체 처리되면 recordResults가 대기열에 다시 등록)
+ */
+
+@Service
+@RequiredArgsConstructor
+public class AsyncModerationService {
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final CheckBadwordService checkBadwordService;
+    private final PostSearchIndex postSearchIndex;
+    private final ModerationReviewQueue moderationReviewQueue;
+    private final ProxyCallGuard proxyCallGuard;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${moderation.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${moderation.async.threads:4}")
+    private int threads;
+
+    @Value("${moderation.async.queue-capacity:1000}")
+    private int queueCapacity;
+
+    // 마지막 수정 후 이 시간이 지나도록 PENDING인 글은 유실된 작업으로 보고 다시 예약
+    @Value("${moderation.async.sweep.stale-seconds:60}")
+    private long sweepStaleSeconds;
+
+    // 한 번에 다시 예약할 최대 개수 (게시글, 댓글 각각)
+    @Value("${moderation.async.sweep.batch-size:200}")
+    private int sweepBatchSize;
+
+    // 종료 시 남은 작업을 기다리는 최대 시간
+    @Value("${moderation.async.drain-timeout-ms:30000}")
+    private long drainTimeoutMs;
+
+    // 검토 대기열에서 한 번에 꺼내 다시 판정할 최대 개수
+    @Value("${moderation.review.batch-size:50}")
+    private int reviewBatchSize;
+
+    private ThreadPoolExecutor executor;
+    private TransactionTemplate transactionTemplate;
+
+    // 이 서버 대기열에 이미 들어 있는 작업 (다시 예약 시 중복 방지)
+    private final Set<Integer> queuedPosts = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> queuedComments = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        // 대기열이 가득 차 요청 스레드(afterCommit)에서 실행될 때도 새 트랜잭션으로 처리
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "moderation-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        meterRegistry.gauge("moderation.async.queue.size", executor, e -> e.getQueue().size());
+    }
+
+    // 서버 종료 전 대기열에 남은 작업 처리 (새 작업은 받지 않음, 못 끝낸 글은 PENDING으로 남아 다음 기동 시 다시 예약)
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(drainTimeoutMs, TimeUnit.MILLISECONDS)) {
+            List<Runnable> dropped = executor.shutdownNow();
+            System.out.println("⚠️ 종료 시 비동기 필터링 미처리 작업: " + dropped.size() + "건 (다음 기동 시 다시 예약)");
+        }
+    }
+
+    // 기동 시 + 주기적으로 오래된 PENDING 게시글/댓글 다시 예약
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${moderation.async.sweep.interval-ms:60000}",
+            fixedDelayString = "${moderation.async.sweep.interval-ms:60000}")
+    public void sweep() {
+        try {
+            LocalDateTime before = LocalDateTime.now().minusSeconds(sweepStaleSeconds);
+            PageRequest oldest = PageRequest.of(0, sweepBatchSize, Sort.by("updatedAt"));
+            int resubmitted = 0;
+
+            for (PostEntity post : postRepository.findByModerationStatusAndUpdatedAtBefore(ModerationStatus.PENDING, before, oldest)) {
+                if (enqueuePost(post.getPostId(), post.getTitle(), post.getContent(), null)) resubmitted++;
+            }
+            for (CommentEntity comment : commentRepository.findByModerationStatusAndUpdatedAtBefore(ModerationStatus.PENDING, before, oldest)) {
+                if (enqueueComment(comment.getCommentId(), comment.getContent(), null)) resubmitted++;
+            }
+
+            if (resubmitted > 0) {
+                System.out.println("🔁 비동기 필터링 재예약: " + resubmitted + "건");
+            }
+        } catch (Exception e) {
+            System.out.println("❌ 비동기 필터링 재예약 실패: " + e.getMessage());
+        }
+    }
+
+    // 검토 대기열 소비 : 프록시가 정상(서킷 CLOSED)일 때만 꺼내서 다시 판정
+    @Scheduled(initialDelayString = "${moderation.review.drain-interval-ms:30000}",
+            fixedDelayString = "${moderation.review.drain-interval-ms:30000}")
+    public void drainReviewQueue() {
+        int remoderated = 0;
+
+        try {
+            for (int i = 0; i < reviewBatchSize && proxyCallGuard.getState() == ProxyCircuitBreaker.State.CLOSED; i++) {
+                ModerationReviewQueue.Item item = moderationReviewQueue.poll();
+                if (item == null) break;
+
+                if (item.commentId() != null) {
+                    CommentEntity comment = commentRepository.findById(item.commentId()).orElse(null);
+                    if (comment != null && comment.getModerationStatus() == ModerationStatus.PROVISIONAL) {
+                        moderateComment(comment.getCommentId(), comment.getContent(), null, ModerationStatus.PROVISIONAL);
+                        remoderated++;
+                    }
+                } else if (item.postId() != null) {
+                    PostEntity post = postRepository.findById(item.postId()).orElse(null);
+                    if (post != null && post.getModerationStatus() == ModerationStatus.PROVISIONAL) {
+                        moderatePost(post.getPostId(), post.getTitle(), post.getContent(), null, ModerationStatus.PROVISIONAL);
+                        remoderated++;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            System.out.println("❌ 검토 대기열 처리 실패: " + e.getMessage());
+        }
+
+        if (remoderated > 0) {
+            meterRegistry.counter("moderation.review.remoderated").increment(remoderated);
+            System.out.println("🔁 검토 대기열 재판정: " + remoderated + "건");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 게시글 필터링 예약 (현재 트랜잭션 커밋 후 실행, previousTexts : 수정 전 필터링된 제목/내용 또는 null)
+    public void submitPost(int postId, String title, String content, List<String> previousTexts) {
+        afterCommit(() -> enqueuePost(postId, title, content, previousTexts));
+    }
+
+    // 댓글 필터링 예약 (현재 트랜잭션 커밋 후 실행, previousTexts : 수정 전 필터링된 내용 또는 null)
+    public void submitComment(int commentId, String content, List<String> previousTexts) {
+        afterCommit(() -> enqueueComment(commentId, content, previousTexts));
+    }
+
+    // 종료 중이면 예약하지 않음 (PENDING으로 남아 다음 기동 시 다시 예약)
+    private boolean enqueuePost(int postId, String title, String content, List<String> previousTexts) {
+        if (executor.isShutdown() || !queuedPosts.add(postId)) return false;
+
+        executor.execute(() -> {
+            try {
+                moderatePost(postId, title, content, previousTexts, ModerationStatus.PENDING);
+            } finally {
+                queuedPosts.remove(postId);
+            }
+        });
+        return true;
+    }
+
+    private boolean enqueueComment(int commentId, String content, List<String> previousTexts) {
+        if (executor.isShutdown() || !queuedComments.add(commentId)) return false;
+
+        executor.execute(() -> {
+            try {
+                moderateComment(commentId, content, previousTexts, ModerationStatus.PENDING);
+            } finally {
+                queuedComments.remove(commentId);
+            }
+        });
+        return true;
+    }
+
+    // expected : 반영 시점에 이 상태일 때만 결과 반영 (PENDING : 비동기 필터링, PROVISIONAL : 검토 대기열 재판정)
+    private void moderatePost(int postId, String title, String content, List<String> previousTexts,
+                              ModerationStatus expected) {
+        try {
+            // 프록시 판정은 트랜잭션 밖에서 수행
+            List<String> texts = Arrays.asList(title, content);
+            List<FilterDto.FilterResult> results = checkBadwordService.moderateChanges(previousTexts, texts);
+            List<String> refined = checkBadwordService.refine(texts, results);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                PostEntity post = postRepository.findForModerationByPostId(postId).orElse(null);
+
+                // 삭제되었거나, 이미 처리되었거나, 그 사이 다시 수정된 글은 건너뜀 (새 작업이 처리)
+                if (post == null || post.getModerationStatus() != expected
+                        || !Objects.equals(post.getTitle(), title) || !Objects.equals(post.getContent(), content)) {
+                    return;
+                }
+
+                // 필터링을 마친 제목/내용만 검색 색인에 반영
+                postSearchIndex.put(postId, post.getTitle(), post.getContent(), refined.get(0), refined.get(1));
+                post.setTitle(refined.get(0));
+                post.setContent(refined.get(1));
+                post.setModerationStatus(checkBadwordService.statusOf(results));
+                checkBadwordService.recordResults(texts, results, post.getUser(), post, null);
+            });
+        } catch (Exception e) {
+            System.out.println("❌ 게시글 비동기 필터링 실패: " + postId);
+            e.printStackTrace();
+        }
+    }
+
+    private void moderateComment(int commentId, String content, List<String> previousTexts,
+                                 ModerationStatus expected) {
+        try {
+            // 프록시 판정은 트랜잭션 밖에서 수행
+            List<String> texts = Collections.singletonList(content);
+            List<FilterDto.FilterResult> results = checkBadwordService.moderateChanges(previousTexts, texts);
+            String refined = checkBadwordService.refine(texts, results).get(0);
+
+            transactionTemplate.executeWithoutResult(status -> {
+                CommentEntity comment = commentRepository.findForModerationByCommentId(commentId).orElse(null);
+
+                if (comment == null || comment.getModerationStatus() != expected
+                        || !Objects.equals(comment.getContent(), content)) {
+                    return;
+                }
+
+                comment.setContent(refined);
+                comment.setModerationStatus(checkBadwordService.statusOf(results));
+                checkBadwordService.recordResults(texts, results, comment.getUser(), comment.getPost(), comment);
+            });
+        } catch (Exception e) {
+            System.out.println("❌ 댓글 비동기 필터링 실패: " + commentId);
+            e.printStackTrace();
+        }
+    }
+
+    private void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+}
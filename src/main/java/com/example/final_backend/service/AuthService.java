@@ -2,25 +2,34 @@ package com.example.final_backend.service;
 
 import com.example.final_backend.entity.UserLimitsEntity;
 import com.example.final_backend.factory.UserFactory;
+import com.example.final_backend.security.VerifiedClaims;
 import com.example.final_backend.repository.UserRepository;
 import com.example.final_backend.dto.AuthDto;
 import com.example.final_backend.dto.JwtDto;
 import com.example.final_backend.entity.UserEntity;
 import com.example.final_backend.repository.UserLimitsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * 사용자의 인증 로직 처리 서비스
  * - 회원가입
- * - 로그인
+ * - 로그인 (로그인 ID/IP별 시도 제한, BCrypt 검증은 전용 스레드에서 처리)
  * - 로그아웃
- * - 토큰 재발급
+ * - 토큰 재발급 (RefreshToken 교체, 같은 토큰의 동시 요청은 서버당 1회만 처리)
  * - 닉네임 중복 확인
  * - 아이디 중복 확인
  * - 아이디 찾기
@@ -31,10 +40,28 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class AuthService {
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginThrottleService loginThrottleService;
     private final JwtService jwtService;
     private final UserLimitsRepository userLimitsRepository;
     private final AsyncService asyncService;
+    private final UserSnapshotCache userSnapshotCache;
+    private final MeterRegistry meterRegistry;
+
+    // 같은 RefreshToken으로 진행 중인 재발급 결과를 기다리는 최대 시간
+    @Value("${auth.refresh.max-wait-ms:3000}")
+    private long refreshMaxWaitMs;
+
+    // RefreshToken jti -> 진행 중인 재발급
+    private final ConcurrentHashMap<String, CompletableFuture<JwtDto.TokenResponse>> refreshInFlight = new ConcurrentHashMap<>();
+    private Counter refreshCoalesced;
+
+    @PostConstruct
+    public void init() {
+        refreshCoalesced = Counter.builder("auth.refresh.coalesced")
+                .description("진행 중인 재발급에 합류해 결과를 공유한 요청 수")
+                .register(meterRegistry);
+    }
 
     // 회원가입
     @Transactional
@@ -50,7 +77,7 @@ public class AuthService {
         }
 
         // 비밀번호 암호화
-        String encodedPw = passwordEncoder.encode(authDto.getPw());
+        String encodedPw = passwordHashingService.encode(authDto.getPw());
 
         // 정적 팩토리 메서드로 UserEntity + 연관 엔티티 생성(PenaltyCountEntity, UserLimitsEntity)
         UserEntity user = UserFactory.createWithDefaults(authDto, encodedPw);
@@ -64,19 +91,28 @@ public class AuthService {
 
 
     // 로그인
-    public AuthDto.LoginResponse login(AuthDto.LoginRequest loginRequest) {
+    public AuthDto.LoginResponse login(AuthDto.LoginRequest loginRequest, String clientIp) {
+        // 시도 횟수 초과 시 DB 조회/BCrypt 전에 거절 (429)
+        loginThrottleService.acquire(loginRequest.getId(), clientIp);
+
         try {
             UserEntity user = userRepository.findById(loginRequest.getId())
                     .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
 
+            // 비밀번호 검증 (BCrypt, 전용 스레드)
+            if (!passwordHashingService.matches(loginRequest.getPw(), user.getPw())) {
+                throw new IllegalArgumentException("아이디 또는 비밀번호가 올바르지 않습니다.");
+            }
+
             // UserLimits에서 endDate, isActive 가져오기
             UserLimitsEntity limit = userLimitsRepository.findByUserId(user.getUserId()).orElse(null);
             LocalDateTime endDate = (limit != null) ? limit.getEndDate() : null;
             Boolean isActive = (limit != null) ? limit.getIsActive() : true;
 
-            // 토큰 발급
-            String accessToken = jwtService.generateAccessToken(user);
-            String refreshToken = jwtService.generateRefreshToken(user);
+            // 토큰 발급 (로그인마다 새 세션, 다른 기기의 세션은 유지)
+            String sessionId = jwtService.newSessionId();
+            String accessToken = jwtService.generateAccessToken(user, sessionId);
+            String refreshToken = jwtService.generateRefreshToken(user, sessionId);
 
             return AuthDto.LoginResponse.of(user, accessToken, refreshToken, endDate, isActive);
 
@@ -88,36 +124,75 @@ public class AuthService {
     // 토큰 재발급
     public JwtDto.TokenResponse updateToken(String refreshToken) {
         // 1. RefreshToken 유효성 검증 - 조작되거나 만료된 토큰인지 확인하는 단계
-        String userId = jwtService.extractUsername(refreshToken);
-        if (userId == null) {
+        VerifiedClaims claims = jwtService.verify(refreshToken);
+        if (claims == null || claims.userId() == null) {
             throw new IllegalArgumentException("RefreshToken이 유효하지 않거나 만료된 토큰입니다.");
         }
 
-        // 2. Redis에 저장된 RefreshToken과 비교
-        if (!jwtService.validateRefreshToken(refreshToken, userId)) {
+        if (!claims.isRefreshToken() || claims.tokenId() == null || claims.sessionId() == null) {
             throw new IllegalArgumentException("RefreshToken이 유효하지 않습니다.");
         }
 
+        // 2. 같은 토큰으로 이미 재발급 중이면 그 결과를 공유 (SPA 병렬 요청)
+        CompletableFuture<JwtDto.TokenResponse> mine = new CompletableFuture<>();
+        CompletableFuture<JwtDto.TokenResponse> existing = refreshInFlight.putIfAbsent(claims.tokenId(), mine);
+        if (existing != null) {
+            refreshCoalesced.increment();
+            return awaitRefresh(existing);
+        }
+
+        try {
+            JwtDto.TokenResponse response = rotateTokens(claims);
+            mine.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            refreshInFlight.remove(claims.tokenId(), mine);
+        }
+    }
+
+    private JwtDto.TokenResponse rotateTokens(VerifiedClaims claims) {
         // 3. 사용자 조회
-        UserEntity user = userRepository.findById(userId)
+        UserEntity user = userRepository.findById(claims.userId())
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
 
-        // 4. 새로운 AccessToken 발급
-        String newAccessToken = jwtService.reissueAccessToken(user);
+        // 4. Redis 세션의 RefreshToken(jti) compare-and-swap 교체 → 같은 세션으로 새로운 AccessToken 발급
+        String newRefreshToken = jwtService.rotateRefreshToken(user, claims);
+        String newAccessToken = jwtService.reissueAccessToken(user, claims.sessionId());
 
-        return JwtDto.TokenResponse.of(user, newAccessToken, refreshToken);
+        return JwtDto.TokenResponse.of(user, newAccessToken, newRefreshToken);
+    }
+
+    private JwtDto.TokenResponse awaitRefresh(CompletableFuture<JwtDto.TokenResponse> future) {
+        try {
+            return future.get(refreshMaxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException("토큰 재발급에 실패했습니다.", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("토큰 재발급 대기 중 중단되었습니다.");
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("토큰 재발급 대기 시간이 초과되었습니다.");
+        }
     }
 
     // 로그아웃
-    public void logout(String accessToken) {
-        // 헤더에서 토큰 추출 후 해당 토큰은 Redis 블랙리스트에 등록, RefreshToken 삭제
+    public void logout(String accessToken, VerifiedClaims claims) {
+        // 헤더에서 토큰 추출 후 해당 토큰은 Redis 블랙리스트에 등록, 이 기기의 세션 삭제
         if (accessToken != null && accessToken.startsWith("Bearer ")) {
             accessToken = accessToken.substring(7);
         }
 
-        String userId = jwtService.extractUsername(accessToken);
-        if (userId != null) {
-            jwtService.logout(userId, accessToken);
+        // 인증 필터에서 이미 검증한 경우 재파싱하지 않음
+        if (claims == null) {
+            claims = jwtService.verify(accessToken);
+        }
+
+        if (claims != null && claims.userId() != null) {
+            jwtService.logout(claims);
         }
     }
 
@@ -148,9 +223,10 @@ public class AuthService {
             throw new IllegalArgumentException("이메일이 일치하지 않습니다.");
         }
 
-        user.setPw(passwordEncoder.encode(newPw));
+        user.setPw(passwordHashingService.encode(newPw));
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        userSnapshotCache.invalidate(id);
     }
 
 }
\ No newline at end of file
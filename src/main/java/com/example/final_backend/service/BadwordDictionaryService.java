@@ -0,0 +1,180 @@
+package com.example.final_backend.service;
+
+import com.example.final_backend.moderation.AhoCorasickMatcher;
+import com.example.final_backend.repository.BadwordLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 프록시 호출 전 로컬 1차 필터 (Aho-Corasick 사전 매칭)
+ * - 사전 단어가 없는 짧은 글(skip-max-length 이하)은 프록시 호출 생략
+ * - 사전 단어가 있거나 긴 글, 사전이 비어 있을 때는 항상 프록시로 보냄
+ * - 누락 정책 : 사전에 아직 없는 새 비속어가 든 짧은 글은 걸러지지 않을 수 있음 (허용)
+ *   생략 대상 중 sample-rate 비율은 그대로 프록시로 보내 누락 여부 확인 → 비속어면 사전에 추가 + badword.prefilter.missed 증가
+ *   (누락률 ≈ missed / sampled, 높으면 skip-max-length를 줄이거나 0으로 꺼서 모든 글을 프록시로)
+ * - 사전 : badwordLogs의 원문/대체어 쌍에서 바뀐 단어만 뽑아 구성, 기동 시 + 주기적으로 재구성 (프록시 장애 시 대체 필터로도 사용)
+ */
+
+@Service
+@RequiredArgsConstructor
+public class BadwordDictionaryService {
+    private final BadwordLogRepository badwordLogRepository;
+    private final MeterRegistry meterRegistry;
+
+    // 프록시 호출 여부
+    public enum Screening { SKIP, SAMPLE, PROXY }
+
+    @Value("${badword.prefilter.enabled:true}")
+    private boolean enabled;
+
+    // 로그가 쌓이기 전 사용할 기본 단어 (쉼표 구분)
+    @Value("${badword.prefilter.seed-words:}")
+    private String seedWords;
+
+    // 한 단어로 인정할 최대 길이 (문장 전체가 사전에 들어가는 것 방지)
+    @Value("${badword.prefilter.max-word-length:10}")
+    private int maxWordLength;
+
+    // 사전 단어가 없을 때 프록시 호출을 생략할 최대 글자 수 (0이면 생략하지 않음)
+    @Value("${badword.prefilter.skip-max-length:30}")
+    private int skipMaxLength;
+
+    // 생략 대상 중 누락 확인용으로 프록시에 보낼 비율 (0~1)
+    @Value("${badword.prefilter.sample-rate:0.05}")
+    private double sampleRate;
+
+    private final Set<String> words = ConcurrentHashMap.newKeySet();
+    private volatile AhoCorasickMatcher matcher = AhoCorasickMatcher.empty();
+
+    // 서버 기동 시 + 주기적으로 사전 로딩 (다른 서버가 학습한 단어 반영)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${badword.prefilter.reload-interval-ms:3600000}",
+            initialDelayString = "${badword.prefilter.reload-interval-ms:3600000}")
+    public void init() {
+        reload();
+    }
+
+    // DB 로그 기준으로 사전 재구성
+    public synchronized int reload() {
+        Set<String> loaded = ConcurrentHashMap.newKeySet();
+
+        Arrays.stream(seedWords.split(","))
+                .map(String::strip)
+                .filter(word -> !word.isEmpty())
+                .forEach(loaded::add);
+
+        for (Object[] row : badwordLogRepository.findDistinctWordPairs()) {
+            loaded.addAll(extractBadwords((String) row[0], (String) row[1]));
+        }
+
+        words.clear();
+        words.addAll(loaded);
+        matcher = new AhoCorasickMatcher(words);
+
+        System.out.println("📖 비속어 사전 로딩 완료: " + matcher.size() + "개");
+        return matcher.size();
+    }
+
+    // 프록시가 새로 감지한 단어를 사전에 추가
+    public void learn(String original, String filtered) {
+        List<String> found = extractBadwords(original, filtered);
+        if (found.isEmpty() || words.containsAll(found)) return;
+
+        synchronized (this) {
+            words.addAll(found);
+            matcher = new AhoCorasickMatcher(words);
+        }
+    }
+
+    // 프록시 호출 여부 판정
+    public Screening screen(String text) {
+        if (!enabled || text == null || text.length() > skipMaxLength
+                || matcher.size() == 0 || matcher.containsAny(text)) {
+            screenCounter("proxied").increment();
+            return Screening.PROXY;
+        }
+
+        if (ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            screenCounter("sampled").increment();
+            return Screening.SAMPLE;
+        }
+
+        screenCounter("skipped").increment();
+        return Screening.SKIP;
+    }
+
+    // 누락 확인용으로 보낸 글의 프록시 판정 결과 (비속어면 생략했을 때 놓쳤을 글)
+    public void recordSample(boolean abusive) {
+        if (abusive) {
+            Counter.builder("badword.prefilter.missed")
+                    .description("1차 필터가 생략 대상으로 본 글 중 프록시가 비속어로 판정한 수 (표본)")
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    // 사전 단어를 *로 가림 (프록시 장애 시 대체 필터)
+    public String mask(String text) {
+        if (text == null) return null;
+
+        char[] chars = text.toCharArray();
+        for (AhoCorasickMatcher.Match match : matcher.findAll(text)) {
+            for (int i = match.start(); i < match.end(); i++) {
+                chars[i] = '*';
+            }
+        }
+        return new String(chars);
+    }
+
+    public int size() {
+        return matcher.size();
+    }
+
+    private Counter screenCounter(String result) {
+        return Counter.builder("badword.prefilter.screened")
+                .description("1차 필터 결과별 글 수 (skipped : 프록시 생략)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // 원문과 대체 문장을 어절 단위로 비교해 바뀐 어절만 비속어로 간주
+    private List<String> extractBadwords(String original, String filtered) {
+        List<String> result = new ArrayList<>();
+        if (original == null || filtered == null) return result;
+
+        String[] originalTokens = original.strip().split("\\s+");
+        String[] filteredTokens = filtered.strip().split("\\s+");
+
+        if (originalTokens.length == filteredTokens.length) {
+            for (int i = 0; i < originalTokens.length; i++) {
+                if (!originalTokens[i].equals(filteredTokens[i])) {
+                    addIfWord(result, originalTokens[i]);
+                }
+            }
+        } else if (originalTokens.length == 1) {
+            addIfWord(result, originalTokens[0]);
+        }
+        return result;
+    }
+
+    private void addIfWord(Collection<String> result, String token) {
+        String word = token.replaceAll("[\\p{Punct}]", "");
+        if (!word.isEmpty() && word.length() <= maxWordLength) {
+            result.add(word);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.final_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 비속어 사용 로그(badwordLogs) 지연 일괄 저장
+ * - 요청 트랜잭션 커밋 후 메모리 대기열에 넣고 바로 반환 (로그 저장이 응답을 막지 않음)
+ * - 전용 스레드가 batch-size 만큼 모이거나 flush-interval-ms 가 지나면 multi-row INSERT 1회로 저장
+ * - 대기열이 가득 차면 잠시 기다린 뒤, 그래도 자리가 없으면 요청 스레드에서 직접 저장 (로그 유실 없음)
+ * - 서버 종료 시 남은 로그 모두 저장
+ */
+
+@Service
+@RequiredArgsConstructor
+public class BadwordLogWriter {
+    private static final String INSERT_PREFIX =
+            "INSERT INTO badwordLogs (userId, postId, commentId, originalWord, filteredWord, createdAt) VALUES ";
+    private static final String ROW_VALUES = "(?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${badword.log.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${badword.log.batch-size:200}")
+    private int batchSize;
+
+    @Value("${badword.log.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    // 대기열이 가득 찼을 때 자리가 나길 기다리는 최대 시간
+    @Value("${badword.log.offer-timeout-ms:50}")
+    private long offerTimeoutMs;
+
+    private BlockingQueue<LogRow> queue;
+    private Thread worker;
+    private volatile boolean running;
+    private Counter syncWriteCounter;
+    private Counter failedCounter;
+
+    private record LogRow(int userId, Integer postId, Integer commentId,
+                          String originalWord, String filteredWord, LocalDateTime createdAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        meterRegistry.gauge("badword.log.queue.size", queue, BlockingQueue::size);
+        syncWriteCounter = Counter.builder("badword.log.sync-writes")
+                .description("대기열이 가득 차 요청 스레드에서 직접 저장한 로그 수")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("badword.log.failed")
+                .description("저장에 실패한 로그 수")
+                .register(meterRegistry);
+
+        running = true;
+        worker = new Thread(this::runLoop, "badword-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // 작업 스레드는 최대 flush-interval-ms 안에 대기를 마치고 종료
+        running = false;
+        worker.join(flushIntervalMs + TimeUnit.SECONDS.toMillis(10));
+
+        // 남은 로그 저장
+        List<LogRow> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int i = 0; i < remaining.size(); i += batchSize) {
+            flush(remaining.subList(i, Math.min(i + batchSize, remaining.size())));
+        }
+        System.out.println("🧾 비속어 로그 대기열 정리 완료: " + remaining.size() + "건");
+    }
+
+    // 로그 저장 예약 (트랜잭션 안이면 커밋 후 대기열에 추가 → 롤백 시 저장하지 않음)
+    public void write(int userId, Integer postId, Integer commentId, String originalWord, String filteredWord) {
+        LogRow row = new LogRow(userId, postId, commentId, originalWord, filteredWord, LocalDateTime.now());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(row);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(row);
+            }
+        });
+    }
+
+    private void enqueue(LogRow row) {
+        try {
+            if (queue.offer(row, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // 대기열 포화 : 요청 스레드에서 직접 저장
+        syncWriteCounter.increment();
+        flush(List.of(row));
+    }
+
+    private void runLoop() {
+        List<LogRow> batch = new ArrayList<>(batchSize);
+        long deadline = System.currentTimeMillis() + flushIntervalMs;
+
+        while (running) {
+            try {
+                long waitMs = Math.max(deadline - System.currentTimeMillis(), 0);
+                LogRow row = queue.poll(waitMs, TimeUnit.MILLISECONDS);
+
+                if (row != null) {
+                    batch.add(row);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+
+                if (batch.size() >= batchSize || System.currentTimeMillis() >= deadline) {
+                    if (!batch.isEmpty()) {
+                        flush(batch);
+                        batch.clear();
+                    }
+                    deadline = System.currentTimeMillis() + flushIntervalMs;
+                }
+            } catch (InterruptedException e) {
+                break;
+            } catch (Exception e) {
+                System.out.println("❌ 비속어 로그 저장 스레드 오류: " + e.getMessage());
+            }
+        }
+
+        // 종료 시 모아둔 로그 저장 (대기열에 남은 로그는 shutdown()에서 저장)
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    // multi-row INSERT 1회로 저장 (실패 시 행 단위로 재시도 → 삭제된 게시글 등 문제 행만 제외)
+    private void flush(List<LogRow> rows) {
+        try {
+            jdbcTemplate.update(INSERT_PREFIX + String.join(", ", Collections.nCopies(rows.size(), ROW_VALUES)),
+                    toArgs(rows));
+        } catch (Exception e) {
+            System.out.println("❌ 비속어 로그 일괄 저장 실패, 행 단위로 재시도: " + e.getMessage());
+
+            for (LogRow row : rows) {
+                try {
+                    jdbcTemplate.update(INSERT_PREFIX + ROW_VALUES, toArgs(List.of(row)));
+                } catch (Exception rowError) {
+                    failedCounter.increment();
+                    System.out.println("❌ 비속어 로그 저장 실패 (userId=" + row.userId() + "): " + rowError.getMessage());
+                }
+            }
+        }
+    }
+
+    private Object[] toArgs(List<LogRow> rows) {
+        Object[] args = new Object[rows.size() * 6];
+        int i = 0;
+        for (LogRow row : rows) {
+            args[i++] = row.userId();
+            args[i++] = row.postId();
+            args[i++] = row.commentId();
+            args[i++] = row.originalWord();
+            args[i++] = row.filteredWord();
+            args[i++] = Timestamp.valueOf(row.createdAt());
+        }
+        return args;
+    }
+}
@@ -1,10 +1,15 @@
 package com.example.final_backend.service;
 
-import com.example.final_backend.entity.BadwordLogEntity;
+import com.example.final_backend.dto.FilterDto;
 import com.example.final_backend.entity.CommentEntity;
+import com.example.final_backend.entity.ModerationStatus;
 import com.example.final_backend.entity.PostEntity;
 import com.example.final_backend.entity.UserEntity;
-import com.example.final_backend.repository.BadwordLogRepository;
+import com.example.final_backend.moderation.SentenceSegmenter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.*;
@@ -12,12 +17,33 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 게시글 작성, 수정 | 댓글 작성 수정 시 비속어 사용 감지 및 대체어 변환
  * Proxy 서버로 전달
+ * - 사전 단어가 없는 짧은 글은 프록시 호출 없이 그대로 통과 (BadwordDictionaryService, 일부는 누락 확인용으로 프록시에 보냄)
+ * - 이미 판정한 문장은 캐시된 결과 사용 (ModerationResultCache)
+ * - 여러 문장(제목 + 내용)은 일괄 요청 1회로 판정 (proxy.batch-url 설정 시), 없으면 문장별 요청을 동시에 보냄
+ * - 수정 시에는 기존 글에서 바뀐 문장만 판정 후 다시 이어 붙임 (문장별 결과도 캐시)
+ * - 같은 문장이 동시에 들어오면 프록시 요청 1회 결과를 함께 사용 (실패도 공유)
+ * - 판정(moderate)은 트랜잭션 밖에서, 결과 저장(recordResults)은 짧은 트랜잭션 안에서 수행
+ * - 프록시 장애 시 서킷 브레이커/벌크헤드로 즉시 대체 처리 (moderation.fallback.mode)
+ *   LOCAL : 로컬 사전 단어만 가림 | QUEUE : 원문 저장 후 검토 대기열 등록 (서킷이 닫히면 다시 판정) | PASS : 원문 그대로
  */
 @Service
 @RequiredArgsConstructor
@@ -25,7 +51,15 @@ public class CheckBadwordService {
     private final RestTemplate purgoRestTemplate;
     private final ServerToProxyJwtService serverToProxyJwtService;
     private final UserPenaltyService userPenaltyService;
-    private final BadwordLogRepository badwordLogRepository;
+    private final BadwordLogWriter badwordLogWriter;
+    private final BadwordDictionaryService badwordDictionaryService;
+    private final ModerationResultCache moderationResultCache;
+    private final ProxyCallGuard proxyCallGuard;
+    private final ModerationReviewQueue moderationReviewQueue;
+    private final MeterRegistry meterRegistry;
+
+    // 프록시 사용 불가 시 대체 처리 방식
+    public enum FallbackMode { LOCAL, QUEUE, PASS }
 
     @Value("${proxy.base-url}")
     private String baseUrl;
@@ -33,57 +67,441 @@ public class CheckBadwordService {
     @Value("${proxy.client-api-key}")
     private String apiKey;
 
-    @Transactional
-    public String getFilteredText(String text, UserEntity user, PostEntity post) {
-        return getFilteredText(text, user, post, null);
+    // 일괄 판정 API 주소 (비어 있으면 문장별로 요청)
+    @Value("${proxy.batch-url:}")
+    private String batchUrl;
+
+    // 일괄 판정 API가 없을 때 문장별 요청을 동시에 보낼 스레드 수 (모두 사용 중이면 요청 스레드에서 차례로)
+    @Value("${proxy.single.threads:8}")
+    private int singleThreads;
+
+    @Value("${moderation.fallback.mode:LOCAL}")
+    private FallbackMode fallbackMode;
+
+    // 같은 문장 판정 결과를 기다리는 최대 시간
+    @Value("${moderation.coalesce.max-wait-ms:3000}")
+    private long coalesceMaxWaitMs;
+
+    // 수정 시 바뀐 문장만 판정
+    @Value("${moderation.incremental.enabled:true}")
+    private boolean incrementalEnabled;
+
+    // 이 길이보다 짧은 글은 문장을 나누지 않고 통째로 판정
+    @Value("${moderation.incremental.min-length:200}")
+    private int incrementalMinLength;
+
+    // 판정 중인 문장 (요청 본문 해시 -> 결과)
+    private final ConcurrentHashMap<String, CompletableFuture<FilterDto.FilterResult>> inFlight = new ConcurrentHashMap<>();
+    private Counter coalescedCounter;
+    private ThreadPoolExecutor singleExecutor;
+
+    @PostConstruct
+    public void init() {
+        coalescedCounter = Counter.builder("moderation.proxy.coalesced")
+                .description("이미 판정 중인 같은 문장에 합류해 생략한 프록시 호출 수")
+                .register(meterRegistry);
+
+        // 대기열 없이 남는 스레드가 없으면 호출한 스레드에서 실행
+        AtomicInteger sequence = new AtomicInteger();
+        singleExecutor = new ThreadPoolExecutor(singleThreads, singleThreads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "proxy-single-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        singleExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        singleExecutor.shutdown();
     }
 
+    // 1) 욕설 판정 (트랜잭션 밖에서 호출 → 프록시 응답을 기다리는 동안 DB 커넥션을 잡지 않음)
+    public List<FilterDto.FilterResult> moderate(List<String> texts) {
+        return filterTexts(texts);
+    }
+
+    // 1-1) 수정 시 욕설 판정 : 바뀐 문장만 프록시로 보내고 결과를 다시 이어 붙임
+    // 기존 글에 그대로 남아 있는 문장은 이미 필터링을 거친 문장이므로 판정 생략
+    // (프록시 판정을 마치지 않은 PENDING/PROVISIONAL 글은 호출 측에서 previousTexts = null → 전체 판정)
+    public List<FilterDto.FilterResult> moderateChanges(List<String> previousTexts, List<String> texts) {
+        if (!incrementalEnabled || previousTexts == null) {
+            return moderate(texts);
+        }
+
+        List<List<String>> segmentsPerText = new ArrayList<>(texts.size());
+        List<int[]> slotsPerText = new ArrayList<>(texts.size());
+        List<String> changed = new ArrayList<>();
+
+        for (int i = 0; i < texts.size(); i++) {
+            String text = texts.get(i);
+            String previous = previousTexts.get(i);
+
+            // 짧은 글은 문장을 나누지 않고 통째로 판정
+            List<String> segments = text == null || previous == null || text.length() < incrementalMinLength
+                    ? Collections.singletonList(text)
+                    : SentenceSegmenter.split(text);
+            Set<String> unchanged = segments.size() > 1 ? segmentKeys(previous) : Collections.emptySet();
+
+            int[] slots = new int[segments.size()];
+            for (int k = 0; k < segments.size(); k++) {
+                String core = segments.get(k) != null ? segments.get(k).strip() : null;
+
+                // 내용 없는 글 | 여러 문장 중 빈 조각 | 기존 글에 그대로 남은 문장 → 판정 생략
+                if (core == null || (core.isEmpty() && segments.size() > 1) || unchanged.contains(core)) {
+                    slots[k] = -1;
+                } else {
+                    slots[k] = changed.size();
+                    changed.add(segments.size() > 1 ? core : segments.get(k));
+                }
+            }
+
+            segmentsPerText.add(segments);
+            slotsPerText.add(slots);
+        }
+
+        List<FilterDto.FilterResult> changedResults = changed.isEmpty() ? List.of() : filterTexts(changed);
+        List<FilterDto.FilterResult> results = new ArrayList<>(texts.size());
+
+        for (int i = 0; i < texts.size(); i++) {
+            results.add(assemble(texts.get(i), segmentsPerText.get(i), slotsPerText.get(i), changedResults));
+        }
+        return results;
+    }
+
+    // 2) 판정 결과를 반영한 최종 문장 (입력 순서대로 반환)
+    public List<String> refine(List<String> texts, List<FilterDto.FilterResult> results) {
+        List<String> refined = new ArrayList<>(texts.size());
+
+        for (int i = 0; i < texts.size(); i++) {
+            FilterDto.FilterResult result = results.get(i);
+            boolean replaced = result.isProvisional() || result.isAbusive();
+            refined.add(replaced ? result.getRewrittenText() : texts.get(i));
+        }
+        return refined;
+    }
+
+    // 2-1) 저장할 필터링 상태 (하나라도 대체 처리된 결과면 PROVISIONAL → 다음 수정 시 전체 재판정)
+    public ModerationStatus statusOf(List<FilterDto.FilterResult> results) {
+        return results.stream().anyMatch(FilterDto.FilterResult::isProvisional)
+                ? ModerationStatus.PROVISIONAL : ModerationStatus.APPROVED;
+    }
+
+    // 3) 로그 저장 + 패널티 적용 (게시글/댓글 저장과 같은 짧은 트랜잭션 안에서 호출)
     @Transactional
-    public String getFilteredText(String text, UserEntity user, PostEntity post, CommentEntity comment) {
-        try {
-            // 요청 본문 구성
-            Map<String, String> body = new HashMap<>();
-            body.put("text", text);
+    public void recordResults(List<String> texts, List<FilterDto.FilterResult> results,
+                              UserEntity user, PostEntity post, CommentEntity comment) {
+        boolean provisional = false;
 
-            String jsonBody = serverToProxyJwtService.createJsonBody(body);
-            String serverJwt = serverToProxyJwtService.generateTokenFromJson(jsonBody);
+        for (int i = 0; i < texts.size(); i++) {
+            String text = texts.get(i);
+            FilterDto.FilterResult result = results.get(i);
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("Authorization", "Bearer " + apiKey);
-            headers.set("X-Auth-Token", serverJwt);
+            if (result.isProvisional()) {
+                // 프록시 판정 없이 임시 처리된 글 (패널티 미적용)
+                provisional = true;
+            } else if (result.isAbusive()) {
+                String rewritten = result.getRewrittenText();
 
-            HttpEntity<String> http = new HttpEntity<>(jsonBody, headers);
+                // 로그는 커밋 후 일괄 저장 (BadwordLogWriter)
+                badwordLogWriter.write(user.getUserId(),
+                        post != null ? post.getPostId() : null,
+                        comment != null ? comment.getCommentId() : null,
+                        text, rewritten);
+                userPenaltyService.applyPenalty(user.getUserId());
+                badwordDictionaryService.learn(text, rewritten);
+            }
+        }
 
-            // 프록시 서버로 요청
-            ResponseEntity<Map<String, Object>> response = purgoRestTemplate.postForEntity(
-                    baseUrl, http, (Class<Map<String, Object>>) (Class<?>) Map.class
-            );
+        // 원문 그대로 저장된 글은 프록시 복구 후 다시 판정하도록 대기열 등록 (커밋 후, 글당 1건)
+        if (provisional && fallbackMode == FallbackMode.QUEUE) {
+            moderationReviewQueue.enqueue(user, post, comment);
+        }
+    }
 
-            // 응답 처리
-            System.out.println("📦 [응답 바디] " + response.getBody());
+    // 로컬 1차 필터 -> 캐시 -> 프록시 순서로 판정
+    private List<FilterDto.FilterResult> filterTexts(List<String> texts) {
+        FilterDto.FilterResult[] results = new FilterDto.FilterResult[texts.size()];
+        boolean[] sampled = new boolean[texts.size()];
+        List<Integer> pendingIndexes = new ArrayList<>();
+        List<String> pendingHashes = new ArrayList<>();
 
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                Map<String, Object> result = response.getBody();
-                Object decision = result.get("final_decision");
-                Boolean isAbusive = decision != null && decision.toString().equals("1");
+        for (int i = 0; i < texts.size(); i++) {
+            String text = texts.get(i);
+            if (text == null || text.isBlank()) {
+                results[i] = FilterDto.FilterResult.clean(text);
+                continue;
+            }
 
-                Map<String, Object> resultInner = (Map<String, Object>) result.get("result");
-                String rewritten = resultInner != null ? (String) resultInner.get("rewritten_text") : text;
+            // 사전 단어가 없는 짧은 글이면 프록시 호출 생략
+            BadwordDictionaryService.Screening screening = badwordDictionaryService.screen(text);
+            if (screening == BadwordDictionaryService.Screening.SKIP) {
+                results[i] = FilterDto.FilterResult.clean(text);
+                continue;
+            }
+            sampled[i] = screening == BadwordDictionaryService.Screening.SAMPLE;
 
-                if (Boolean.TRUE.equals(isAbusive)) {
-                    BadwordLogEntity log = BadwordLogEntity.of(user, post, comment, text, rewritten);
-                    badwordLogRepository.save(log);
-                    userPenaltyService.applyPenalty(user.getUserId());
+            try {
+                String bodyHash = serverToProxyJwtService.hashBody(createTextBody(text));
+                FilterDto.FilterResult cached = moderationResultCache.get(bodyHash);
 
-                    return rewritten;
+                if (cached != null) {
+                    results[i] = cached;
+                } else {
+                    pendingIndexes.add(i);
+                    pendingHashes.add(bodyHash);
                 }
+            } catch (Exception e) {
+                System.out.println("❌ 욕설 필터링 실패");
+                e.printStackTrace();
+                results[i] = FilterDto.FilterResult.clean(text);
+            }
+        }
+
+        if (!pendingIndexes.isEmpty()) {
+            resolvePending(texts, pendingIndexes, pendingHashes, results);
+        }
+
+        // 누락 확인용으로 보낸 글의 판정 결과 기록 (대체 처리된 결과는 제외)
+        for (int i = 0; i < texts.size(); i++) {
+            if (sampled[i] && !results[i].isProvisional()) {
+                badwordDictionaryService.recordSample(results[i].isAbusive());
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    // 기존 글의 문장 목록 (앞뒤 공백 제외)
+    private Set<String> segmentKeys(String text) {
+        Set<String> keys = new HashSet<>();
+        for (String segment : SentenceSegmenter.split(text)) {
+            keys.add(segment.strip());
+        }
+        return keys;
+    }
+
+    // 문장별 판정 결과를 하나의 결과로 합침 (문장 앞뒤 공백은 원문 그대로 유지)
+    private FilterDto.FilterResult assemble(String text, List<String> segments, int[] slots,
+                                            List<FilterDto.FilterResult> changedResults) {
+        if (text == null) {
+            return FilterDto.FilterResult.clean(null);
+        }
+        if (segments.size() == 1 && slots[0] >= 0) {
+            segmentCounter("moderated").increment();
+            return changedResults.get(slots[0]);
+        }
+
+        StringBuilder rewritten = new StringBuilder(text.length());
+        boolean abusive = false;
+        boolean provisional = false;
+        int skipped = 0;
+
+        for (int k = 0; k < segments.size(); k++) {
+            String segment = segments.get(k);
+
+            if (slots[k] < 0) {
+                rewritten.append(segment);
+                skipped++;
+                continue;
+            }
+
+            FilterDto.FilterResult result = changedResults.get(slots[k]);
+            String core = segment.strip();
+            int coreStart = segment.indexOf(core);
+            boolean replaced = result.isAbusive() || result.isProvisional();
+
+            rewritten.append(segment, 0, coreStart)
+                    .append(replaced ? result.getRewrittenText() : core)
+                    .append(segment, coreStart + core.length(), segment.length());
+
+            abusive |= result.isAbusive();
+            provisional |= result.isProvisional();
+        }
+
+        segmentCounter("skipped").increment(skipped);
+        segmentCounter("moderated").increment(segments.size() - skipped);
+
+        if (provisional) {
+            return FilterDto.FilterResult.provisional(rewritten.toString());
+        }
+        return abusive ? FilterDto.FilterResult.of(true, rewritten.toString()) : FilterDto.FilterResult.clean(text);
+    }
+
+    private Counter segmentCounter(String result) {
+        return Counter.builder("moderation.incremental.segments")
+                .description("수정 시 다시 판정한 문장 / 생략한 문장 수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // 같은 문장이 이미 판정 중이면 그 결과를 함께 사용 (문장별 프록시 요청은 동시에 1개만)
+    private void resolvePending(List<String> texts, List<Integer> pendingIndexes, List<String> pendingHashes,
+                                FilterDto.FilterResult[] results) {
+        List<Integer> ownedIndexes = new ArrayList<>();
+        List<String> ownedHashes = new ArrayList<>();
+        List<CompletableFuture<FilterDto.FilterResult>> ownedFutures = new ArrayList<>();
+        Map<Integer, CompletableFuture<FilterDto.FilterResult>> waiting = new LinkedHashMap<>();
+
+        for (int j = 0; j < pendingIndexes.size(); j++) {
+            CompletableFuture<FilterDto.FilterResult> mine = new CompletableFuture<>();
+            CompletableFuture<FilterDto.FilterResult> existing = inFlight.putIfAbsent(pendingHashes.get(j), mine);
+
+            if (existing == null) {
+                ownedIndexes.add(pendingIndexes.get(j));
+                ownedHashes.add(pendingHashes.get(j));
+                ownedFutures.add(mine);
+            } else {
+                waiting.put(pendingIndexes.get(j), existing);
+                coalescedCounter.increment();
+            }
+        }
+
+        // 직접 맡은 문장만 프록시로 요청
+        if (!ownedIndexes.isEmpty()) {
+            try {
+                List<String> ownedTexts = ownedIndexes.stream().map(texts::get).toList();
+                List<FilterDto.FilterResult> fetched = proxyCallGuard.execute(
+                        () -> requestProxy(ownedTexts),
+                        list -> list.contains(null),
+                        () -> ownedTexts.stream().map(this::fallback).toList());
+
+                for (int j = 0; j < ownedIndexes.size(); j++) {
+                    FilterDto.FilterResult result = fetched.get(j);
+
+                    if (result == null) {
+                        // 필터링 실패 시 대체 처리 (캐시하지 않음)
+                        result = fallback(ownedTexts.get(j));
+                    } else if (!result.isProvisional()) {
+                        moderationResultCache.put(ownedHashes.get(j), result);
+                    }
+                    results[ownedIndexes.get(j)] = result;
+                    ownedFutures.get(j).complete(result);
+                }
+            } finally {
+                // 예외로 끝나도 대기 중인 요청이 멈추지 않도록 정리 (완료되지 않은 건 null → 각자 대체 처리)
+                for (int j = 0; j < ownedFutures.size(); j++) {
+                    ownedFutures.get(j).complete(null);
+                    inFlight.remove(ownedHashes.get(j), ownedFutures.get(j));
+                }
+            }
+        }
+
+        // 다른 요청이 판정 중인 문장은 결과를 기다림 (최대 moderation.coalesce.max-wait-ms)
+        for (Map.Entry<Integer, CompletableFuture<FilterDto.FilterResult>> entry : waiting.entrySet()) {
+            int index = entry.getKey();
+            FilterDto.FilterResult shared = null;
+
+            try {
+                shared = entry.getValue().get(coalesceMaxWaitMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                System.out.println("⏳ 동일 문장 판정 대기 실패, 대체 처리: " + e.getClass().getSimpleName());
+            }
+
+            results[index] = shared != null ? shared : fallback(texts.get(index));
+        }
+    }
+
+    // 프록시 사용 불가 시 대체 결과
+    private FilterDto.FilterResult fallback(String text) {
+        if (fallbackMode == FallbackMode.LOCAL) {
+            return FilterDto.FilterResult.provisional(badwordDictionaryService.mask(text));
+        }
+        return FilterDto.FilterResult.provisional(text);
+    }
+
+    // 프록시 판정 요청 (2개 이상이면 일괄 요청 우선, 실패 시 문장별 요청)
+    // 문장별 요청은 첫 문장을 요청 스레드에서, 나머지를 동시에 보냄 (제목 + 내용이면 왕복 1회 시간)
+    private List<FilterDto.FilterResult> requestProxy(List<String> texts) {
+        if (texts.size() > 1 && !batchUrl.isBlank()) {
+            try {
+                return requestBatch(texts);
+            } catch (Exception e) {
+                System.out.println("❌ 일괄 필터링 실패, 문장별 요청으로 전환: " + e.getMessage());
+            }
+        }
+
+        List<CompletableFuture<FilterDto.FilterResult>> others = new ArrayList<>(texts.size());
+        for (String text : texts.subList(1, texts.size())) {
+            others.add(CompletableFuture.supplyAsync(() -> requestSingle(text), singleExecutor));
+        }
+
+        List<FilterDto.FilterResult> results = new ArrayList<>(texts.size());
+        results.add(requestSingle(texts.get(0)));
+        for (CompletableFuture<FilterDto.FilterResult> other : others) {
+            // 응답 대기는 proxy.http.response-timeout-ms로 제한됨
+            results.add(other.join());
+        }
+        return results;
+    }
+
+    // 단일 문장 요청 : {"text": ...} (실패 시 null)
+    private FilterDto.FilterResult requestSingle(String text) {
+        try {
+            ResponseEntity<FilterDto.ProxyResponse> response =
+                    post(baseUrl, createTextBody(text), FilterDto.ProxyResponse.class);
+
+            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+                return response.getBody().toFilterResult(text);
             }
         } catch (Exception e) {
             System.out.println("❌ 욕설 필터링 실패");
             e.printStackTrace(); // 에러 로그 전체 출력
         }
+        return null;
+    }
+
+    // 일괄 요청 : {"texts": [...]} -> {"results": [{final_decision, result}, ...]} (요청 순서 유지)
+    private List<FilterDto.FilterResult> requestBatch(List<String> texts) throws Exception {
+        Map<String, Object> body = new HashMap<>();
+        body.put("texts", texts);
+
+        ResponseEntity<FilterDto.ProxyBatchResponse> response =
+                post(batchUrl, serverToProxyJwtService.createJsonBody(body), FilterDto.ProxyBatchResponse.class);
+
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+            throw new IllegalStateException("일괄 필터링 응답 오류: " + response.getStatusCode());
+        }
+
+        List<FilterDto.ProxyResponse> items = response.getBody().getResults();
+        if (items == null || items.size() != texts.size()) {
+            throw new IllegalStateException("일괄 필터링 응답 개수 불일치");
+        }
+
+        List<FilterDto.FilterResult> results = new ArrayList<>(texts.size());
+        for (int i = 0; i < texts.size(); i++) {
+            results.add(items.get(i).toFilterResult(texts.get(i)));
+        }
+        return results;
+    }
+
+    // 요청 본문 구성
+    private String createTextBody(String text) throws Exception {
+        Map<String, String> body = new HashMap<>();
+        body.put("text", text);
+        return serverToProxyJwtService.createJsonBody(body);
+    }
+
+    // 서버 JWT 서명 후 프록시 서버로 요청
+    private <T> ResponseEntity<T> post(String url, String jsonBody, Class<T> responseType) {
+        String serverJwt = serverToProxyJwtService.generateTokenFromJson(jsonBody);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Authorization", "Bearer " + apiKey);
+        headers.set("X-Auth-Token", serverJwt);
+
+        HttpEntity<String> http = new HttpEntity<>(jsonBody, headers);
+
+        ResponseEntity<T> response = purgoRestTemplate.postForEntity(url, http, responseType);
 
-        return text;
+        // 응답 처리
+        System.out.println("📦 [응답 바디] " + response.getBody());
+        return response;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,66 @@
+package com.example.final_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * posts.commentCount 보정 작업
+ * - 평소에는 댓글 작성/삭제 시 ±1로 유지, 회원 탈퇴 등으로 생긴 오차를 주기적으로 재계산
+ * - postId 범위(batch-size)씩 나눠 UPDATE 1회로 실제 댓글 수와 다른 게시글만 수정 (잠금 구간 최소화)
+ * - 컬럼 추가 후 첫 실행 시 기존 게시글 값도 채움
+ */
+
+@Service
+@RequiredArgsConstructor
+public class CommentCountRepairService {
+    private static final String MAX_ID_SQL = "SELECT COALESCE(MAX(postId), 0) FROM posts";
+
+    private static final String REPAIR_SQL =
+            "UPDATE posts p " +
+            "LEFT JOIN (SELECT postId, COUNT(*) AS cnt FROM comments WHERE postId > ? AND postId <= ? GROUP BY postId) c " +
+            "       ON c.postId = p.postId " +
+            "SET p.commentCount = COALESCE(c.cnt, 0) " +
+            "WHERE p.postId > ? AND p.postId <= ? AND p.commentCount <> COALESCE(c.cnt, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${post.comment-count.repair.batch-size:1000}")
+    private int batchSize;
+
+    private Counter repairedCounter;
+
+    @PostConstruct
+    public void init() {
+        repairedCounter = Counter.builder("post.comment-count.repaired")
+                .description("댓글 수 보정 작업에서 값이 바뀐 게시글 수")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${post.comment-count.repair.initial-delay-ms:60000}",
+            fixedDelayString = "${post.comment-count.repair.interval-ms:3600000}")
+    public void repair() {
+        try {
+            Integer maxId = jdbcTemplate.queryForObject(MAX_ID_SQL, Integer.class);
+            int repaired = 0;
+
+            for (int from = 0; maxId != null && from < maxId; from += batchSize) {
+                int to = from + batchSize;
+                repaired += jdbcTemplate.update(REPAIR_SQL, from, to, from, to);
+            }
+
+            if (repaired > 0) {
+                repairedCounter.increment(repaired);
+                System.out.println("🔧 게시글 댓글 수 보정: " + repaired + "건");
+            }
+        } catch (Exception e) {
+            System.out.println("❌ 게시글 댓글 수 보정 실패: " + e.getMessage());
+        }
+    }
+}
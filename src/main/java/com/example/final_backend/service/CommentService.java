@@ -1,13 +1,15 @@
 package com.example.final_backend.service;
 
 import com.example.final_backend.dto.CommentDto;
+import com.example.final_backend.dto.FilterDto;
 import com.example.final_backend.entity.*;
 import com.example.final_backend.repository.UserRepository;
 import com.example.final_backend.repository.CommentRepository;
 import com.example.final_backend.repository.PostRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -22,8 +24,11 @@ public class CommentService {
     private final UserRepository userRepository;
     private final CheckBadwordService checkBadwordService;
     private final UserPenaltyService userPenaltyService;
+    private final AsyncModerationService asyncModerationService;
+    private final TransactionTemplate transactionTemplate;
 
     // 댓글 조회
+    @Transactional(readOnly = true)
     public List<CommentDto.CheckCommentResponse> getCommentsByPostId(int postId) {
         PostEntity post = postRepository.findByPostId(postId)
                 .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다."));
@@ -34,57 +39,102 @@ public class CommentService {
     }
 
     // 댓글 작성
-    @Transactional
+    // 프록시 판정은 트랜잭션 밖에서 수행하고, 저장만 짧은 트랜잭션으로 처리
     public CommentDto.WriteCommentResponse createComment(String userId, int postId, CommentDto.CommentRequest commentRequestDto) {
         UserEntity user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-        PostEntity post = postRepository.findById(postId)
-                .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다."));
+        if (!postRepository.existsById(postId)) {
+            throw new IllegalArgumentException("게시글을 찾을 수 없습니다.");
+        }
 
         // 사용자 제한 여부 확인
         userPenaltyService.checkUserLimit(user);
 
-        // 댓글 엔티티 생성 및 저장 (commentId 확보용)
-        CommentEntity comment = CommentEntity.create(user, post);
-        comment = commentRepository.save(comment);
-
-        // 욕설 필터링 + 로그 저장
-        String refined = checkBadwordService.getFilteredText(commentRequestDto.getContent(), user, post, comment);
-        comment.setContent(refined);
-
-        // 최종 저장
-        commentRepository.save(comment);
+        String content = commentRequestDto.getContent();
+
+        // 비동기 필터링 : PENDING 상태로 저장 후 바로 응답
+        if (asyncModerationService.isEnabled()) {
+            return transactionTemplate.execute(status -> {
+                CommentEntity comment = CommentEntity.create(findUser(userId), findPost(postId));
+                comment.setContent(content);
+                comment.setModerationStatus(ModerationStatus.PENDING);
+                CommentEntity pendingComment = commentRepository.save(comment);
+                postRepository.addCommentCount(postId, 1);
+                asyncModerationService.submitComment(pendingComment.getCommentId(), content, null);
+                return CommentDto.WriteCommentResponse.of(pendingComment, pendingComment.getUser());
+            });
+        }
 
-        return CommentDto.WriteCommentResponse.of(comment, user);
+        // 욕설 필터링 (DB 커넥션 없이 프록시 호출)
+        List<String> texts = Collections.singletonList(content);
+        List<FilterDto.FilterResult> results = checkBadwordService.moderate(texts);
+        String refined = checkBadwordService.refine(texts, results).get(0);
+
+        return transactionTemplate.execute(status -> {
+            UserEntity writer = findUser(userId);
+            PostEntity post = findPost(postId);
+
+            // 댓글 엔티티 생성 및 저장 (commentId 확보 후 로그 저장)
+            CommentEntity comment = CommentEntity.create(writer, post);
+            comment.setContent(refined);
+            comment.setModerationStatus(checkBadwordService.statusOf(results));
+            comment = commentRepository.save(comment);
+            postRepository.addCommentCount(postId, 1);
+            checkBadwordService.recordResults(texts, results, writer, post, comment);
+
+            return CommentDto.WriteCommentResponse.of(comment, writer);
+        });
     }
 
 
     // 댓글 수정
-    @Transactional
+    // 프록시 판정은 트랜잭션 밖에서 수행하고, 저장만 짧은 트랜잭션으로 처리
     public CommentDto.WriteCommentResponse updateComment(String userId, int commentId, CommentDto.CommentRequest commentRequestDto) {
-        CommentEntity comment = commentRepository.findById(commentId)
+        CommentEntity comment = commentRepository.findWithUserByCommentId(commentId)
                 .orElseThrow(() -> new IllegalArgumentException("댓글을 찾을 수 없습니다."));
 
         if (!comment.getUser().getId().equals(userId)) {
             throw new IllegalArgumentException("댓글 수정 권한이 없습니다.");
         }
 
-        UserEntity user = comment.getUser();
-        PostEntity post = comment.getPost();
-
         // 사용자 제한 여부 확인
-        userPenaltyService.checkUserLimit(user);
+        userPenaltyService.checkUserLimit(comment.getUser());
+
+        String content = commentRequestDto.getContent();
+
+        // 필터링을 마친 기존 댓글 (바뀐 문장만 다시 판정, 검토 대기 중이거나 대체 처리만 된 댓글은 전체 판정)
+        List<String> previousTexts = ModerationStatus.isModerated(comment.getModerationStatus())
+                ? Collections.singletonList(comment.getContent()) : null;
+
+        // 비동기 필터링 : PENDING 상태로 저장 후 바로 응답
+        if (asyncModerationService.isEnabled()) {
+            return transactionTemplate.execute(status -> {
+                CommentEntity pendingComment = findComment(commentId);
+                pendingComment.setContent(content);
+                pendingComment.setModerationStatus(ModerationStatus.PENDING);
+                pendingComment.setUpdatedAt(LocalDateTime.now());
+                asyncModerationService.submitComment(commentId, content, previousTexts);
+                return CommentDto.WriteCommentResponse.of(pendingComment, pendingComment.getUser());
+            });
+        }
 
-        // 욕설 필터링 + 로그 저장 + 패널티 적용
-        String refined = checkBadwordService.getFilteredText(commentRequestDto.getContent(), user, post, comment);
+        // 바뀐 문장만 욕설 필터링 (DB 커넥션 없이 프록시 호출)
+        List<String> texts = Collections.singletonList(content);
+        List<FilterDto.FilterResult> results = checkBadwordService.moderateChanges(previousTexts, texts);
+        String refined = checkBadwordService.refine(texts, results).get(0);
 
-        // 내용 반영
-        comment.setContent(refined);
-        comment.setUpdatedAt(LocalDateTime.now());
+        return transactionTemplate.execute(status -> {
+            CommentEntity updatedComment = findComment(commentId);
+            UserEntity user = updatedComment.getUser();
 
-        commentRepository.save(comment);
+            // 내용 반영 + 로그 저장 + 패널티 적용
+            updatedComment.setContent(refined);
+            updatedComment.setModerationStatus(checkBadwordService.statusOf(results));
+            updatedComment.setUpdatedAt(LocalDateTime.now());
+            checkBadwordService.recordResults(texts, results, user, updatedComment.getPost(), updatedComment);
 
-        return CommentDto.WriteCommentResponse.of(comment, user);
+            return CommentDto.WriteCommentResponse.of(updatedComment, user);
+        });
     }
 
 
@@ -99,5 +149,21 @@ public class CommentService {
         }
 
         commentRepository.delete(comment);
+        postRepository.addCommentCount(comment.getPost().getPostId(), -1);
+    }
+
+    private UserEntity findUser(String userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
+    }
+
+    private PostEntity findPost(int postId) {
+        return postRepository.findById(postId)
+                .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다."));
+    }
+
+    private CommentEntity findComment(int commentId) {
+        return commentRepository.findById(commentId)
+                .orElseThrow(() -> new IllegalArgumentException("댓글을 찾을 수 없습니다."));
     }
 }
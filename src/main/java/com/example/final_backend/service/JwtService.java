@@ -2,29 +2,37 @@ package com.example.final_backend.service;
 
 import com.example.final_backend.config.JwtConfig;
 import com.example.final_backend.entity.UserEntity;
+import com.example.final_backend.security.VerifiedClaims;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
  * AccessToken / RefreshToken 생성 (generateAccessToken, generateRefreshToken)
  * JWT의 claim 추출 (extractUsername, extractExpiration 등)
+ * 요청 인증용 1회 검증 (verify → VerifiedClaims, JwtParser는 기동 시 1회 생성)
  * 토큰 유효성 검사 (validateAccessToken, validateRefreshToken)
- * Redis 연동을 통한 RefreshToken 저장 및 AccessToken 블랙리스트 처리
- * 토큰 기반 로그아웃 처리 (logout)
- * 재발급 지원 (reissueAccessToken)
+ * Redis 연동을 통한 세션(sid) 저장 및 AccessToken 블랙리스트(jti) 처리
+ * 토큰 기반 로그아웃 처리 (logout, 해당 기기 세션만 종료)
+ * 재발급 지원 (reissueAccessToken, rotateRefreshToken : RefreshToken 교체 + 재사용 감지)
  */
 
 @Service
@@ -32,24 +40,42 @@ import java.util.function.Function;
 public class JwtService {
     private final JwtConfig jwtConfig;
     private final RedisService redisService;
+    private final TokenBlacklistCache tokenBlacklistCache;
+
+    // 교체 직후 이전 RefreshToken으로 들어온 요청을 재사용이 아닌 동시 재발급으로 보는 시간
+    @Value("${auth.refresh.reuse-grace-ms:10000}")
+    private long reuseGraceMs;
+
     private SecretKey key;
+    private JwtParser parser;
 
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8));
+        // JwtParser는 불변·스레드 안전 → 한 번만 생성해 재사용
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+    }
+
+    // 로그인 세션(기기) ID 발급
+    public String newSessionId() {
+        return UUID.randomUUID().toString();
     }
 
     // AccessToken 생성기
-    public String generateAccessToken(UserEntity user) {
+    public String generateAccessToken(UserEntity user, String sessionId) {
 
         Map<String, Object> claims = new HashMap<>();
 
         claims.put("username", user.getUsername());
         claims.put("email", user.getEmail());
         claims.put("tokenType", "access");
+        claims.put("sid", sessionId);
 
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(user.getId())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + jwtConfig.getExpirationMs()))
@@ -57,23 +83,55 @@ public class JwtService {
                 .compact();
     }
 
-    // RefreshToken 발급 및 Redis에 저장
-    public String generateRefreshToken(UserEntity user) {
+    // RefreshToken 발급 및 Redis 세션 저장
+    public String generateRefreshToken(UserEntity user, String sessionId) {
+        String tokenId = UUID.randomUUID().toString();
+        long expireAt = System.currentTimeMillis() + jwtConfig.getRefreshExpirationMs();
+        String refreshToken = buildRefreshToken(user, sessionId, tokenId, expireAt);
+
+        // Redis 세션 해시에 이 기기의 RefreshToken jti 저장
+        redisService.saveSession(user.getId(), sessionId, tokenId, expireAt);
+
+        return refreshToken;
+    }
+
+    // RefreshToken 교체 (세션의 현재 RefreshToken일 때만 새 토큰으로 compare-and-swap, Redis 호출 1회)
+    public String rotateRefreshToken(UserEntity user, VerifiedClaims claims) {
+        String tokenId = UUID.randomUUID().toString();
+        long expireAt = System.currentTimeMillis() + jwtConfig.getRefreshExpirationMs();
+        String refreshToken = buildRefreshToken(user, claims.sessionId(), tokenId, expireAt);
+
+        RedisService.Rotation rotation = redisService.rotateSession(
+                claims.userId(), claims.sessionId(), claims.tokenId(), tokenId, expireAt, reuseGraceMs);
+
+        switch (rotation) {
+            case ROTATED:
+                return refreshToken;
+            case CONCURRENT:
+                // 다른 서버에서 같은 토큰으로 방금 재발급함 → 세션은 유지
+                throw new IllegalStateException("이미 재발급된 RefreshToken입니다.");
+            case REUSED:
+                // 이미 교체된 토큰 재사용 → 탈취 가능성, 세션은 스크립트에서 삭제됨
+                System.out.println("⚠️ RefreshToken 재사용 감지, 세션 종료: " + claims.userId());
+                throw new IllegalArgumentException("RefreshToken이 유효하지 않습니다.");
+            default:
+                throw new IllegalArgumentException("RefreshToken이 유효하지 않습니다.");
+        }
+    }
+
+    private String buildRefreshToken(UserEntity user, String sessionId, String tokenId, long expireAt) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("tokenType", "refresh");
+        claims.put("sid", sessionId);
 
-        String refreshToken = Jwts.builder()
+        return Jwts.builder()
                 .setClaims(claims)
+                .setId(tokenId)
                 .setSubject(user.getId())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + jwtConfig.getRefreshExpirationMs()))
+                .setExpiration(new Date(expireAt))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
-
-        // Redis에 RefreshToken 저장
-        redisService.saveRefreshToken(user.getId(), refreshToken, jwtConfig.getRefreshExpirationMs());
-
-        return refreshToken;
     }
 
 
@@ -97,67 +155,96 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)     // 서명 검증을 위한 SecretKey 설정
-                .build()        // JwtParser 객체 생성
+        return parser
                 .parseClaimsJws(token)      // JWT 문자열 파싱 + 서명 검증 수행
                 .getBody();     // Payload(Payload = Claims) 반환
     }
 
+    // 서명 검증 1회로 필요한 Claim을 모두 추출 (위조·만료·형식 오류 시 null)
+    public VerifiedClaims verify(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            return new VerifiedClaims(
+                    claims.getSubject(),
+                    claims.get("tokenType", String.class),
+                    claims.getId(),
+                    claims.get("sid", String.class),
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0,
+                    claims.getExpiration() != null ? claims.getExpiration().getTime() : 0,
+                    claims.getId() != null ? claims.getId() : legacyBlacklistId(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // jti가 없는 이전 버전 토큰의 블랙리스트 키 (토큰 원문 SHA-256)
+    private static String legacyBlacklistId(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return "legacy-" + HexFormat.of().formatHex(digest);
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-256 사용 불가", e);
+        }
+    }
+
     // JWT의 만료 시간을 읽어서, 현재 시간이 만료 시각을 지났는지 판단
     public Boolean isTokenExpired(String token) {
         return extractExpiration(token).before(new Date());
     }
 
-    // 토큰 유효성 및 Redis 블랙리스트 여부 확인
-    public Boolean validateAccessToken(String token, UserDetails userDetails) {
-
-        final String userId = extractUsername(token);
-        final String tokenType = extractTokenType(token);
-
-        // AccessToken 블랙리스트 확인
-        if (redisService.isAccessTokenBlacklisted(userId, token)) {
+    // 검증된 Claims 기준 AccessToken 유효성 + 블랙리스트(jti) 확인 (토큰 재파싱 없음, near-cache 사용)
+    public boolean validateAccessToken(VerifiedClaims claims, UserDetails userDetails) {
+        if (tokenBlacklistCache.isBlacklisted(claims.blacklistId())) {
             return false;
         }
 
-        // 모든 조건이 충족되면 true 반환 → 인증 허용
-        return (userId.equals(userDetails.getUsername()) && // JWT에 담긴 사용자 ID와 현재 인증 대상의 ID가 일치하는지 확인
-                "access".equals(tokenType) && // 이 토큰이 AccessToken인지 확인
-                !isTokenExpired(token)); //	토큰 만료 여부 검사 : 아직 유효한 토큰이면 true, 만료된 경우 false
+        return claims.userId().equals(userDetails.getUsername()) &&
+                claims.isAccessToken() &&
+                !claims.isExpired();
     }
 
-    // 토큰과 Redis 저장 토큰 비교, 만료 여부 확인
-    public Boolean validateRefreshToken(String token, String userId) {
-        try {
-            final String tokenUserId = extractUsername(token);
-            final String tokenType = extractTokenType(token);
-
-            // Redis에서 저장된 refreshToken 가져오기
-            String storedToken = redisService.getRefreshToken(userId);
+    // 토큰 유효성 및 블랙리스트 여부 확인
+    public Boolean validateAccessToken(String token, UserDetails userDetails) {
+        VerifiedClaims claims = verify(token);
+        return claims != null && validateAccessToken(claims, userDetails);
+    }
 
-            return (tokenUserId.equals(userId) &&
-                    "refresh".equals(tokenType) &&
-                    !isTokenExpired(token) &&
-                    token.equals(storedToken));
+    // 검증된 Claims 기준 RefreshToken 유효성 + 세션의 현재 RefreshToken인지 확인
+    public boolean validateRefreshToken(VerifiedClaims claims) {
+        try {
+            return claims.isRefreshToken() &&
+                    !claims.isExpired() &&
+                    claims.sessionId() != null &&
+                    claims.tokenId() != null &&
+                    redisService.isActiveSession(claims.userId(), claims.sessionId(), claims.tokenId());
         } catch (Exception e) {
             return false;
         }
     }
 
-    // 토큰 재발급 (RefreshToken을 사용해 AccessToken 재발급)
-    public String reissueAccessToken(UserEntity user) {
+    // 토큰과 Redis 세션 비교, 만료 여부 확인
+    public Boolean validateRefreshToken(String token, String userId) {
+        VerifiedClaims claims = verify(token);
+        return claims != null && claims.userId().equals(userId) && validateRefreshToken(claims);
+    }
+
+    // 토큰 재발급 (RefreshToken의 세션으로 AccessToken 재발급)
+    public String reissueAccessToken(UserEntity user, String sessionId) {
         // 엑세스 토큰 생성
-        return generateAccessToken(user);
+        return generateAccessToken(user, sessionId);
     }
 
-    // 로그아웃 처리 (RefreshToken 삭제 및 AccessToken 블랙리스트 등록)
-    public void logout(String userId, String accessToken) {
-        // Redis에 저장된 userId의 RefreshToken을 삭제
-        redisService.deleteRefreshToken(userId);
+    // 로그아웃 처리 (해당 기기 세션 삭제 및 AccessToken 블랙리스트 등록, Redis 호출 1회)
+    public void logout(VerifiedClaims claims) {
+        if (claims.isLegacy()) {
+            // jti/sid가 없는 이전 버전 토큰 : 기존 방식대로 사용자 RefreshToken 삭제 + 토큰 원문 해시로 블랙리스트 등록
+            redisService.logoutLegacy(claims.userId(), claims.blacklistId(), claims.expirationMs());
+        } else {
+            redisService.logoutSession(claims.userId(), claims.sessionId(), claims.tokenId(), claims.expirationMs());
+        }
 
-        long expirationTime = extractExpiration(accessToken).getTime() - System.currentTimeMillis();
-        if (expirationTime > 0) {
-            redisService.blacklistAccessToken(userId, accessToken, expirationTime);
+        if (!claims.isExpired()) {
+            tokenBlacklistCache.remember(claims.blacklistId(), claims.expirationMs());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,120 @@
+package com.example.final_backend.service;
+
+import com.example.final_backend.security.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 로그인 시도 제한 (Redis 토큰 버킷, 로그인 ID별 + IP별)
+ * - 두 버킷을 Lua 스크립트 1회로 확인, 둘 다 남아 있을 때만 1개씩 차감
+ * - 부족하면 BCrypt 검증 전에 429 + Retry-After (다음 토큰이 채워질 때까지)
+ * - Redis 장애 시에는 제한 없이 통과 (로그인 자체를 막지 않음)
+ * - IP는 request.getRemoteAddr() 기준 → 로드밸런서 뒤에서는 server.forward-headers-strategy 설정 필수
+ *   (설정할 수 없는 환경이면 모든 사용자가 같은 IP 버킷을 공유하므로 ip.enabled=false)
+ */
+
+@Service
+@RequiredArgsConstructor
+public class LoginThrottleService {
+    private static final String ID_PREFIX = "login:bucket:id:";
+    private static final String IP_PREFIX = "login:bucket:ip:";
+
+    // KEYS[1..n] 버킷 | ARGV[1] 현재 시각(ms), 이후 버킷마다 (용량, 초당 충전량)
+    // 반환 0 : 허용 | 양수 : 부족한 버킷에 토큰이 채워질 때까지 남은 시간(ms)
+    private static final String TAKE_SCRIPT = """
+            local now = tonumber(ARGV[1])
+            local tokens = {}
+            local waitMs = 0
+            for i = 1, #KEYS do
+                local capacity = tonumber(ARGV[i * 2])
+                local rate = tonumber(ARGV[i * 2 + 1])
+                local bucket = redis.call('HMGET', KEYS[i], 'tokens', 'ts')
+                local current = tonumber(bucket[1]) or capacity
+                local ts = tonumber(bucket[2]) or now
+                current = math.min(capacity, current + (now - ts) / 1000 * rate)
+                tokens[i] = current
+                if current < 1 then
+                    waitMs = math.max(waitMs, math.ceil((1 - current) / rate * 1000))
+                end
+            end
+            if waitMs > 0 then return waitMs end
+            for i = 1, #KEYS do
+                local capacity = tonumber(ARGV[i * 2])
+                local rate = tonumber(ARGV[i * 2 + 1])
+                redis.call('HSET', KEYS[i], 'tokens', tostring(tokens[i] - 1), 'ts', ARGV[1])
+                redis.call('PEXPIRE', KEYS[i], math.ceil(capacity / rate * 1000))
+            end
+            return 0
+            """;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auth.login.throttle.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.login.throttle.id.capacity:5}")
+    private int idCapacity;
+
+    @Value("${auth.login.throttle.id.refill-per-minute:5}")
+    private double idRefillPerMinute;
+
+    @Value("${auth.login.throttle.ip.enabled:true}")
+    private boolean ipEnabled;
+
+    @Value("${auth.login.throttle.ip.capacity:30}")
+    private int ipCapacity;
+
+    @Value("${auth.login.throttle.ip.refill-per-minute:60}")
+    private double ipRefillPerMinute;
+
+    private DefaultRedisScript<Long> takeScript;
+    private Counter throttledCounter;
+
+    @PostConstruct
+    public void init() {
+        takeScript = new DefaultRedisScript<>(TAKE_SCRIPT, Long.class);
+        throttledCounter = Counter.builder("auth.login.throttled")
+                .description("토큰 버킷 부족으로 거절한 로그인 시도 수")
+                .register(meterRegistry);
+    }
+
+    // 로그인 시도 1회 차감 (부족하면 TooManyRequestsException)
+    public void acquire(String id, String clientIp) {
+        if (!enabled) return;
+
+        List<String> keys = new ArrayList<>(List.of(ID_PREFIX + id));
+        List<String> args = new ArrayList<>(List.of(String.valueOf(System.currentTimeMillis()),
+                String.valueOf(idCapacity), String.valueOf(idRefillPerMinute / 60)));
+
+        // IP를 알 수 없거나 IP 버킷을 끈 경우 로그인 ID 버킷만 확인
+        if (ipEnabled && clientIp != null && !clientIp.isBlank()) {
+            keys.add(IP_PREFIX + clientIp);
+            args.add(String.valueOf(ipCapacity));
+            args.add(String.valueOf(ipRefillPerMinute / 60));
+        }
+
+        Long waitMs;
+        try {
+            waitMs = redisTemplate.execute(takeScript, keys, args.toArray());
+        } catch (Exception e) {
+            System.out.println("❌ 로그인 시도 제한 확인 실패: " + e.getMessage());
+            return;
+        }
+
+        if (waitMs != null && waitMs > 0) {
+            throttledCounter.increment();
+            throw new TooManyRequestsException("로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요.",
+                    (waitMs + 999) / 1000);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.final_backend.service;
+
+import com.example.final_backend.dto.FilterDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 욕설 필터링 결과 캐시 (요청 본문 SHA-256 해시 기준)
+ * - 1차 : 서버 메모리 LRU 캐시 (최대 개수 + TTL 만료)
+ * - 2차 : Redis 공유 캐시 (여러 서버 간 결과 공유)
+ * - 같은 문장은 프록시로 다시 보내지 않음
+ */
+
+@Service
+@RequiredArgsConstructor
+public class ModerationResultCache {
+    private static final String KEY_PREFIX = "moderation:result:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${moderation.cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${moderation.cache.local-ttl-ms:600000}")
+    private long localTtlMs;
+
+    @Value("${moderation.cache.redis-ttl-ms:86400000}")
+    private long redisTtlMs;
+
+    private Map<String, Entry> local;
+    private Counter localHits;
+    private Counter redisHits;
+    private Counter misses;
+    private Counter sizeEvictions;
+    private Counter expiredEvictions;
+
+    private record Entry(FilterDto.FilterResult result, long expireAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        // accessOrder = true : 가장 오래 사용하지 않은 항목부터 제거
+        this.local = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxSize) {
+                    sizeEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.localHits = Counter.builder("moderation.cache.hits").tag("tier", "local").register(meterRegistry);
+        this.redisHits = Counter.builder("moderation.cache.hits").tag("tier", "redis").register(meterRegistry);
+        this.misses = Counter.builder("moderation.cache.misses").register(meterRegistry);
+        this.sizeEvictions = Counter.builder("moderation.cache.evictions").tag("cause", "size").register(meterRegistry);
+        this.expiredEvictions = Counter.builder("moderation.cache.evictions").tag("cause", "expired").register(meterRegistry);
+        meterRegistry.gauge("moderation.cache.size", this, ModerationResultCache::size);
+    }
+
+    // 캐시 조회 (메모리 -> Redis 순서), 없으면 null
+    public FilterDto.FilterResult get(String bodyHash) {
+        FilterDto.FilterResult result = getLocal(bodyHash);
+        if (result != null) {
+            localHits.increment();
+            return result;
+        }
+
+        result = getRemote(bodyHash);
+        if (result != null) {
+            redisHits.increment();
+            putLocal(bodyHash, result);
+            return result;
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    // 프록시 판정 결과 저장 (메모리 + Redis)
+    public void put(String bodyHash, FilterDto.FilterResult result) {
+        putLocal(bodyHash, result);
+
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + bodyHash, objectMapper.writeValueAsString(result),
+                    redisTtlMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            System.out.println("❌ 필터링 결과 Redis 캐시 저장 실패: " + e.getMessage());
+        }
+    }
+
+    public synchronized int size() {
+        return local.size();
+    }
+
+    private synchronized FilterDto.FilterResult getLocal(String bodyHash) {
+        Entry entry = local.get(bodyHash);
+        if (entry == null) return null;
+
+        if (entry.expireAt() < System.currentTimeMillis()) {
+            local.remove(bodyHash);
+            expiredEvictions.increment();
+            return null;
+        }
+        return entry.result();
+    }
+
+    private synchronized void putLocal(String bodyHash, FilterDto.FilterResult result) {
+        local.put(bodyHash, new Entry(result, System.currentTimeMillis() + localTtlMs));
+    }
+
+    private FilterDto.FilterResult getRemote(String bodyHash) {
+        try {
+            String json = redisTemplate.opsForValue().get(KEY_PREFIX + bodyHash);
+            return json != null ? objectMapper.readValue(json, FilterDto.FilterResult.class) : null;
+        } catch (Exception e) {
+            // Redis 장애 시 캐시 미스로 처리
+            System.out.println("❌ 필터링 결과 Redis 캐시 조회 실패: " + e.getMessage());
+            return null;
+        }
+    }
+}
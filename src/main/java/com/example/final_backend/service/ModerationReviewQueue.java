@@ -0,0 +1,103 @@
+package com.example.final_backend.service;
+
+import com.example.final_backend.entity.CommentEntity;
+import com.example.final_backend.entity.PostEntity;
+import com.example.final_backend.entity.UserEntity;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 프록시 장애로 판정하지 못한 글을 나중에 다시 판정하기 위한 대기열 (Redis List)
+ * - moderation.fallback.mode=QUEUE 일 때 사용, 글은 PROVISIONAL 상태로 원문 저장됨
+ * - 항목에는 게시글/댓글 ID만 보관 (원문은 DB 행에서 다시 읽음), 트랜잭션 커밋 후 등록 → 롤백된 글은 등록하지 않음
+ * - 소비 : AsyncModerationService.drainReviewQueue (서킷이 닫혀 있을 때 주기적으로 꺼내 전체 재판정)
+ * - 대기 중인 항목 수는 moderation.review.queue.size 지표로 확인
+ */
+
+@Service
+@RequiredArgsConstructor
+public class ModerationReviewQueue {
+    private static final String QUEUE_KEY = "moderation:review-queue";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 다시 판정할 글 (댓글이면 commentId, 게시글이면 postId만 있음)
+    public record Item(Integer postId, Integer commentId) {
+    }
+
+    @PostConstruct
+    public void init() {
+        meterRegistry.gauge("moderation.review.queue.size", this, ModerationReviewQueue::size);
+    }
+
+    // 검토 대기열에 추가 (트랜잭션 안이면 커밋 후)
+    public void enqueue(UserEntity user, PostEntity post, CommentEntity comment) {
+        Map<String, Object> item = new HashMap<>();
+        item.put("userId", user.getUserId());
+        item.put("postId", comment == null && post != null ? post.getPostId() : null);
+        item.put("commentId", comment != null ? comment.getCommentId() : null);
+        item.put("createdAt", LocalDateTime.now().toString());
+
+        Runnable task = () -> {
+            try {
+                redisTemplate.opsForList().leftPush(QUEUE_KEY, objectMapper.writeValueAsString(item));
+            } catch (Exception e) {
+                System.out.println("❌ 검토 대기열 등록 실패: " + e.getMessage());
+            }
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    // 가장 오래된 항목 1개 꺼내기 (비어 있으면 null)
+    public Item poll() {
+        String json = redisTemplate.opsForList().rightPop(QUEUE_KEY);
+        if (json == null) return null;
+
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            Integer commentId = intOrNull(node.get("commentId"));
+            return commentId != null ? new Item(null, commentId) : new Item(intOrNull(node.get("postId")), null);
+        } catch (Exception e) {
+            System.out.println("❌ 검토 대기열 항목 해석 실패, 건너뜀: " + json);
+            return new Item(null, null);
+        }
+    }
+
+    // 대기 중인 글 수 (Redis 장애 시 0)
+    public long size() {
+        try {
+            Long size = redisTemplate.opsForList().size(QUEUE_KEY);
+            return size != null ? size : 0;
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private static Integer intOrNull(JsonNode node) {
+        return node == null || node.isNull() ? null : node.asInt();
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class MypageService {
     private final UserRepository userRepository;
+    private final UserSnapshotCache userSnapshotCache;
 
     // 프로필 정보 조회
     public ProfileDto.UserProfile getProfile(String userId) {
@@ -32,6 +33,7 @@ public class MypageService {
                 .orElseThrow(() -> new IllegalArgumentException("사용자 정보를 찾을 수 없습니다."));
 
         updateProfileDto.UpdateProfile(user);
+        userSnapshotCache.invalidate(userId);
     }
 
     // 회원 탈퇴
@@ -40,5 +42,6 @@ public class MypageService {
         UserEntity user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
         userRepository.delete(user);
+        userSnapshotCache.invalidate(userId);
     }
 }
@@ -0,0 +1,116 @@
+package com.example.final_backend.service;
+
+import com.example.final_backend.security.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비밀번호 해싱/검증 전용 작업 스레드 (BCrypt)
+ * - 요청 스레드(Tomcat)에서 BCrypt를 돌리지 않음 → 로그인 폭주 시에도 조회 API 스레드 유지
+ * - 대기열이 가득 차거나 max-wait-ms 안에 끝나지 않으면 즉시 429 (TooManyRequestsException)
+ */
+
+@Service
+@RequiredArgsConstructor
+public class PasswordHashingService {
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auth.password.threads:2}")
+    private int threads;
+
+    @Value("${auth.password.queue-capacity:32}")
+    private int queueCapacity;
+
+    // 대기 + 해싱 최대 시간 (초과 시 429)
+    @Value("${auth.password.max-wait-ms:2000}")
+    private long maxWaitMs;
+
+    private ThreadPoolExecutor executor;
+    private Timer verifyTimer;
+    private Timer encodeTimer;
+    private Counter rejectedCounter;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        verifyTimer = Timer.builder("auth.password.hash").tag("op", "verify").register(meterRegistry);
+        encodeTimer = Timer.builder("auth.password.hash").tag("op", "encode").register(meterRegistry);
+        rejectedCounter = Counter.builder("auth.password.rejected")
+                .description("대기열 초과/대기 시간 초과로 거절한 해싱 요청 수")
+                .register(meterRegistry);
+        meterRegistry.gauge("auth.password.queue.size", executor, e -> e.getQueue().size());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    // 비밀번호 검증
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) return false;
+        return run(verifyTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    // 비밀번호 암호화
+    public String encode(String rawPassword) {
+        return run(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    private <T> T run(Timer timer, Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new TooManyRequestsException("요청이 많아 잠시 후 다시 시도해주세요.", retryAfterSeconds());
+        }
+
+        try {
+            return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new TooManyRequestsException("요청이 많아 잠시 후 다시 시도해주세요.", retryAfterSeconds());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("비밀번호 처리 중 중단되었습니다.");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("비밀번호 처리에 실패했습니다.", e.getCause());
+        }
+    }
+
+    // 대기열이 비는 데 걸릴 대략적인 시간 (평균 해싱 시간 x 대기 건수 / 스레드 수)
+    private long retryAfterSeconds() {
+        double meanMs = verifyTimer.count() > 0 ? verifyTimer.mean(TimeUnit.MILLISECONDS) : 100;
+        return (long) Math.ceil(meanMs * (executor.getQueue().size() + threads) / threads / 1000);
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.final_backend.service;
+
+import com.example.final_backend.entity.PenaltyCountEntity;
+import com.example.final_backend.entity.UserLimitsEntity;
+import com.example.final_backend.repository.PenaltyCountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis 기반 패널티 카운터
+ * - 패널티 증가를 Lua 스크립트 1회로 원자적으로 처리 (동시 요청에도 누락 없음), 증가 후 횟수로 "5회마다 이용 제한" 판단
+ * - Redis 증가는 롤백되지 않으므로 글 트랜잭션 커밋 후 호출 (UserPenaltyService.applyPenalty)
+ * - 변경된 사용자는 dirty 집합에 기록 → 주기적으로 penaltyCounts 테이블에 JDBC 일괄 반영
+ * - Redis에 값이 없으면(최초, 재시작 후 유실 등) DB 값으로 초기화 후 증가
+ * - Redis 장애 시 penaltyCounts를 SQL로 직접 증가 (글 저장은 그대로 진행), 장애 중 증가분은 Redis 복구 후 카운터에 더함
+ */
+
+@Service
+@RequiredArgsConstructor
+public class PenaltyCounterService {
+    private static final String COUNT_PREFIX = "penalty:count:";
+    private static final String DIRTY_KEY = "penalty:dirty";
+
+    // KEYS[1] 카운터, KEYS[2] dirty 집합 | ARGV[1] userId, ARGV[2] 초기값(DB, 없으면 "")
+    // 반환 증가 후 횟수 | 카운터가 없고 초기값도 없으면 -1
+    private static final String INCREMENT_SCRIPT = """
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                if ARGV[2] == '' then return -1 end
+                redis.call('SET', KEYS[1], ARGV[2])
+            end
+            local count = redis.call('INCR', KEYS[1])
+            redis.call('SADD', KEYS[2], ARGV[1])
+            return count
+            """;
+
+    // KEYS[1] 카운터, KEYS[2] dirty 집합 | ARGV[1] userId, ARGV[2] Redis 장애 중 DB에서 증가한 횟수
+    // 카운터가 없으면 다음 증가 시 DB 값(증가분 포함)으로 초기화되므로 그대로 둠
+    private static final String REPLAY_SCRIPT = """
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                redis.call('INCRBY', KEYS[1], ARGV[2])
+                redis.call('SADD', KEYS[2], ARGV[1])
+            end
+            return 1
+            """;
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO penaltyCounts (userId, penaltyCount, lastUpdate) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE penaltyCount = GREATEST(penaltyCount, VALUES(penaltyCount)), lastUpdate = VALUES(lastUpdate)";
+
+    // Redis 장애 시 직접 증가 (호출한 트랜잭션과 함께 커밋)
+    private static final String DB_INCREMENT_SQL =
+            "INSERT INTO penaltyCounts (userId, penaltyCount, lastUpdate) VALUES (?, 1, ?) " +
+            "ON DUPLICATE KEY UPDATE penaltyCount = penaltyCount + 1, lastUpdate = VALUES(lastUpdate)";
+
+    private static final String DB_COUNT_SQL = "SELECT penaltyCount FROM penaltyCounts WHERE userId = ?";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final PenaltyCountRepository penaltyCountRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    // 한 번에 DB에 반영할 최대 사용자 수
+    @Value("${penalty.reconcile.batch-size:500}")
+    private int reconcileBatchSize;
+
+    private DefaultRedisScript<Long> incrementScript;
+    private DefaultRedisScript<Long> replayScript;
+    private Counter reconciledCounter;
+    private Counter fallbackCounter;
+
+    // Redis 장애 중 DB에서 직접 증가한 횟수 (userId -> 증가분, 커밋된 것만)
+    private final Map<Integer, Integer> fallbackDeltas = new ConcurrentHashMap<>();
+
+    public record Increment(int count, boolean limited) {
+    }
+
+    @PostConstruct
+    public void init() {
+        incrementScript = new DefaultRedisScript<>(INCREMENT_SCRIPT, Long.class);
+        replayScript = new DefaultRedisScript<>(REPLAY_SCRIPT, Long.class);
+        reconciledCounter = Counter.builder("penalty.reconciled")
+                .description("Redis 패널티 카운터를 DB에 반영한 사용자 수")
+                .register(meterRegistry);
+        fallbackCounter = Counter.builder("penalty.redis-fallback")
+                .description("Redis 장애로 DB에서 직접 증가한 패널티 수")
+                .register(meterRegistry);
+    }
+
+    // 패널티 1 증가 (일반적으로 Redis 호출 1회, Redis 장애 시 DB 직접 증가)
+    public Increment increment(int userId) {
+        try {
+            return incrementInRedis(userId);
+        } catch (Exception e) {
+            System.out.println("❌ 패널티 카운터 Redis 증가 실패, DB에서 직접 증가: " + e.getMessage());
+            fallbackCounter.increment();
+            return incrementInDb(userId);
+        }
+    }
+
+    // 현재 패널티 횟수 (Redis 우선, 없거나 장애 시 DB)
+    public int getCount(int userId) {
+        try {
+            String value = redisTemplate.opsForValue().get(COUNT_PREFIX + userId);
+            if (value != null) return Integer.parseInt(value);
+        } catch (Exception e) {
+            System.out.println("❌ 패널티 카운터 Redis 조회 실패: " + e.getMessage());
+        }
+        return countFromDb(userId);
+    }
+
+    // 변경된 카운터를 penaltyCounts 테이블에 일괄 반영
+    @Scheduled(fixedDelayString = "${penalty.reconcile.interval-ms:5000}")
+    public void reconcile() {
+        replayFallback();
+
+        List<String> userIds;
+
+        while (!(userIds = popDirty()).isEmpty()) {
+            List<String> counts = redisTemplate.opsForValue()
+                    .multiGet(userIds.stream().map(id -> COUNT_PREFIX + id).toList());
+
+            List<Object[]> rows = new ArrayList<>(userIds.size());
+            Date today = Date.valueOf(LocalDate.now());
+            for (int i = 0; i < userIds.size(); i++) {
+                String count = counts != null ? counts.get(i) : null;
+                if (count != null) {
+                    rows.add(new Object[]{Integer.parseInt(userIds.get(i)), Integer.parseInt(count), today});
+                }
+            }
+
+            try {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+                reconciledCounter.increment(rows.size());
+            } catch (Exception e) {
+                // 실패한 사용자는 다시 dirty 처리 후 다음 주기에 재시도
+                redisTemplate.opsForSet().add(DIRTY_KEY, userIds.toArray(new String[0]));
+                System.out.println("❌ 패널티 카운터 DB 반영 실패: " + e.getMessage());
+                return;
+            }
+
+            if (userIds.size() < reconcileBatchSize) return;
+        }
+    }
+
+    // 서버 종료 전 남은 카운터 반영
+    @PreDestroy
+    public void shutdown() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            System.out.println("❌ 종료 시 패널티 카운터 반영 실패: " + e.getMessage());
+        }
+    }
+
+    private Increment incrementInRedis(int userId) {
+        List<String> keys = List.of(COUNT_PREFIX + userId, DIRTY_KEY);
+
+        Long count = redisTemplate.execute(incrementScript, keys, String.valueOf(userId), "");
+
+        if (count == null || count < 0) {
+            // 카운터가 없으면 DB 값으로 초기화 (동시 초기화 시에도 스크립트 안에서 한 번만 SET)
+            String seed = String.valueOf(countFromDb(userId));
+            count = redisTemplate.execute(incrementScript, keys, String.valueOf(userId), seed);
+        }
+
+        // 증가 후 횟수는 스크립트 안에서 원자적으로 정해지므로 제한 판단은 횟수만으로 충분 (동시 요청 중 한 건만 해당)
+        int current = count != null ? count.intValue() : 1;
+        return new Increment(current, current % UserLimitsEntity.PENALTY_THRESHOLD == 0);
+    }
+
+    // penaltyCounts 행을 SQL로 증가 (행 잠금으로 동시 요청에도 누락 없음, 제한 판단은 DB 값 기준)
+    private Increment incrementInDb(int userId) {
+        jdbcTemplate.update(DB_INCREMENT_SQL, userId, Date.valueOf(LocalDate.now()));
+        Integer count = jdbcTemplate.queryForObject(DB_COUNT_SQL, Integer.class, userId);
+
+        // 증가 트랜잭션이 롤백되면 증가분도 함께 롤백되므로 커밋된 경우에만 Redis 복구 후 반영 대상으로 기록
+        afterCommit(() -> fallbackDeltas.merge(userId, 1, Integer::sum));
+
+        int current = count != null ? count : 1;
+        return new Increment(current, current % UserLimitsEntity.PENALTY_THRESHOLD == 0);
+    }
+
+    // Redis 장애 중 DB에서 증가한 횟수를 Redis 카운터에 더함 (Redis 복구 후 첫 주기)
+    private void replayFallback() {
+        for (Integer userId : List.copyOf(fallbackDeltas.keySet())) {
+            Integer delta = fallbackDeltas.remove(userId);
+            if (delta == null) continue;
+
+            try {
+                redisTemplate.execute(replayScript, List.of(COUNT_PREFIX + userId, DIRTY_KEY),
+                        String.valueOf(userId), String.valueOf(delta));
+            } catch (Exception e) {
+                // 아직 Redis 장애 중이면 다음 주기에 재시도
+                fallbackDeltas.merge(userId, delta, Integer::sum);
+                return;
+            }
+        }
+    }
+
+    private void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    private List<String> popDirty() {
+        List<String> popped = redisTemplate.opsForSet().pop(DIRTY_KEY, reconcileBatchSize);
+        return popped != null ? popped : List.of();
+    }
+
+    private int countFromDb(int userId) {
+        return penaltyCountRepository.findByUserId(userId)
+                .map(PenaltyCountEntity::getPenaltyCount)
+                .orElse(0);
+    }
+}
@@ -0,0 +1,496 @@
+package com.example.final_backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 게시글 제목/내용 검색용 메모리 역색인 (문자 바이그램, 띄어쓰기 없는 한국어 대응)
+ * - 기동 시 posts 전체(검토 대기 글 제외)로 생성, 이후 게시글 작성/수정/삭제 커밋 후 증분 반영
+ * - 색인에는 바이그램별 게시글 목록만 보관 (원문 없음), 수정/삭제 시 호출 측이 이전 제목/내용을 넘겨 바이그램 제거
+ * - 반영 내용(postId + 이전 제목/내용)은 Redis pub/sub(post:search)으로 다른 서버에 전파
+ *   → 받은 서버는 이전 바이그램 제거 후 DB에서 현재 글을 다시 읽어 추가 (보낸 서버는 자기 메시지 무시)
+ * - 메시지 유실·순서 뒤바뀜으로 남은 바이그램은 후보만 늘릴 뿐 (결과는 호출 측에서 확인), 주기적 전체 재생성으로 정리
+ *   (post.search.index.rebuild-interval-ms, 새 색인을 만든 뒤 교체, 생성 중 반영된 변경은 새 색인에 다시 적용)
+ * - 바이그램별 게시글 목록은 postId 오름차순 (postId 차이, 가중치) varint 압축 byte[]로 보관
+ * - 검색 : 키워드의 모든 바이그램 목록 교집합 = 후보 (바이그램이 떨어져 있을 수 있음)
+ *   → 호출 측이 조회한 글을 matches()로 실제 포함 여부 확인 후 사용
+ *   search : 점수(제목 3, 내용 1 x 등장 횟수) 내림차순, 같으면 최신순 | searchRecent : 최신(큰 postId)순
+ * - 2글자 미만 키워드나 색인 생성 전에는 null 반환 → 호출 측에서 DB LIKE 검색
+ */
+
+@Service
+@RequiredArgsConstructor
+public class PostSearchIndex implements MessageListener {
+    private static final String CHANNEL = "post:search";
+    private static final int TITLE_WEIGHT = 3;
+    private static final String INDEXED = "(moderationStatus IS NULL OR moderationStatus <> 'PENDING')";
+    private static final String LOAD_SQL = "SELECT postId, title, content FROM posts WHERE " + INDEXED + " ORDER BY postId";
+    private static final String LOAD_ONE_SQL = "SELECT postId, title, content FROM posts WHERE postId = ? AND " + INDEXED;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // 이 서버가 보낸 메시지 구분용
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${post.search.index.enabled:true}")
+    private boolean enabled;
+
+    // 바이그램 (앞 글자 << 16 | 뒤 글자) -> 게시글 목록
+    private Map<Integer, PostingList> postings = new HashMap<>();
+    // 재생성 중 반영된 변경 (교체 직전에 새 색인에 다시 적용), 재생성 중이 아니면 null
+    private List<Change> changedDuringBuild;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+    private Timer searchTimer;
+
+    // 게시글 1건 변경 (old* : 제거할 이전 제목/내용, title/content : 추가할 현재 제목/내용, 없으면 null)
+    private record Change(int postId, String oldTitle, String oldContent, String title, String content) {
+    }
+
+    @PostConstruct
+    public void init() {
+        searchTimer = Timer.builder("post.search.index").register(meterRegistry);
+        meterRegistry.gauge("post.search.index.terms", this, PostSearchIndex::termCount);
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    // 기동 시 + 주기적으로 전체 재생성 (postId 순서로 읽어 목록 끝에 추가만 함, 생성 중에도 기존 색인으로 검색)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${post.search.index.rebuild-interval-ms:3600000}",
+            initialDelayString = "${post.search.index.rebuild-interval-ms:3600000}")
+    public synchronized void build() {
+        if (!enabled) return;
+
+        lock.writeLock().lock();
+        try {
+            changedDuringBuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Integer, PostingList> fresh = new HashMap<>();
+        int[] count = {0};
+        long start = System.currentTimeMillis();
+
+        try {
+            jdbcTemplate.query(LOAD_SQL, (RowCallbackHandler) rs -> {
+                index(fresh, rs.getInt("postId"), rs.getString("title"), rs.getString("content"));
+                count[0]++;
+            });
+        } catch (Exception e) {
+            System.out.println("❌ 게시글 검색 색인 생성 실패: " + e.getMessage());
+            lock.writeLock().lock();
+            try {
+                changedDuringBuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // 읽는 동안 반영된 변경은 DB 스냅샷보다 최신일 수 있으므로 새 색인에 다시 적용
+            for (Change change : changedDuringBuild) {
+                applyTo(fresh, change);
+            }
+
+            postings = fresh;
+            changedDuringBuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        System.out.println("🔎 게시글 검색 색인 생성: " + count[0] + "건, 바이그램 " + fresh.size()
+                + "개 (" + (System.currentTimeMillis() - start) + "ms)");
+    }
+
+    // 게시글 작성/수정 반영 (트랜잭션 안이면 커밋 후, oldTitle/oldContent : 수정 전 색인된 제목/내용, 새 글이면 null)
+    public void put(int postId, String oldTitle, String oldContent, String title, String content) {
+        afterCommit(new Change(postId, oldTitle, oldContent, title, content));
+    }
+
+    // 게시글 삭제 (또는 검토 대기로 전환) 반영 (title/content : 색인된 제목/내용)
+    public void remove(int postId, String title, String content) {
+        afterCommit(new Change(postId, title, content, null, null));
+    }
+
+    // 다른 서버에서 반영한 게시글 : 이전 바이그램 제거 후 DB에서 다시 읽어 추가 (없거나 검토 대기면 제거만)
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (!enabled) return;
+
+        try {
+            JsonNode event = objectMapper.readTree(new String(message.getBody(), StandardCharsets.UTF_8));
+            if (nodeId.equals(event.path("node").asText())) return;
+
+            int postId = event.get("postId").asInt();
+            String[] row = {null, null};
+            jdbcTemplate.query(LOAD_ONE_SQL, (RowCallbackHandler) rs -> {
+                row[0] = rs.getString("title");
+                row[1] = rs.getString("content");
+            }, postId);
+
+            apply(new Change(postId, textOrNull(event.get("oldTitle")), textOrNull(event.get("oldContent")),
+                    row[0], row[1]));
+        } catch (Exception e) {
+            System.out.println("❌ 게시글 검색 색인 이벤트 처리 실패: " + e.getMessage());
+        }
+    }
+
+    // 키워드 후보 검색 → 점수순 postId (색인 사용 불가 시 null)
+    public int[] search(String keyword) {
+        int[] candidates = candidates(keyword);
+        if (candidates == null) return null;
+
+        return searchTimer.record(() -> rank(candidates));
+    }
+
+    // 키워드 후보 검색 → 최신(큰 postId)순 (커서 검색용, 색인 사용 불가 시 null)
+    public int[] searchRecent(String keyword) {
+        int[] candidates = candidates(keyword);
+        if (candidates == null) return null;
+
+        int[] result = new int[candidates.length / 2];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = candidates[2 * (result.length - 1 - i)];
+        }
+        return result;
+    }
+
+    // 제목/내용에 키워드가 실제로 들어 있는지 (색인과 같은 정규화 기준)
+    public static boolean matches(String keyword, String title, String content) {
+        String query = normalize(keyword).trim();
+        return normalize(title).contains(query) || normalize(content).contains(query);
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 교집합 결과 (postId, 점수)를 번갈아 담은 배열 (postId 오름차순)
+    private int[] candidates(String keyword) {
+        if (!enabled || !ready) return null;
+
+        int[] grams = distinctBigrams(normalize(keyword).trim());
+        if (grams.length == 0) return null;
+
+        lock.readLock().lock();
+        try {
+            return intersect(grams);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] intersect(int[] grams) {
+        PostingList[] lists = new PostingList[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.get(grams[i]);
+            if (lists[i] == null) return new int[0];
+        }
+
+        // 가장 짧은 목록부터 교집합
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+        int n = lists[0].size;
+        int[] ids = new int[n];
+        int[] scores = new int[n];
+        lists[0].decode(ids, scores);
+
+        for (int i = 1; i < lists.length && n > 0; i++) {
+            int[] otherIds = new int[lists[i].size];
+            int[] otherWeights = new int[lists[i].size];
+            lists[i].decode(otherIds, otherWeights);
+
+            int matched = 0;
+            for (int a = 0, b = 0; a < n && b < otherIds.length; ) {
+                if (ids[a] < otherIds[b]) {
+                    a++;
+                } else if (ids[a] > otherIds[b]) {
+                    b++;
+                } else {
+                    ids[matched] = ids[a];
+                    scores[matched++] = scores[a++] + otherWeights[b++];
+                }
+            }
+            n = matched;
+        }
+
+        int[] result = new int[n * 2];
+        for (int i = 0; i < n; i++) {
+            result[2 * i] = ids[i];
+            result[2 * i + 1] = scores[i];
+        }
+        return result;
+    }
+
+    // (점수, postId)를 long 하나로 묶어 정렬 → 점수 내림차순, 같으면 최신(큰 postId) 먼저
+    private static int[] rank(int[] candidates) {
+        int n = candidates.length / 2;
+        long[] ranked = new long[n];
+        for (int i = 0; i < n; i++) {
+            ranked[i] = ((long) candidates[2 * i + 1] << 32) | candidates[2 * i];
+        }
+        Arrays.sort(ranked);
+
+        int[] result = new int[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = (int) ranked[n - 1 - i];
+        }
+        return result;
+    }
+
+    private static void applyTo(Map<Integer, PostingList> postings, Change change) {
+        if (change.oldTitle() != null || change.oldContent() != null) {
+            unindex(postings, change.postId(), change.oldTitle(), change.oldContent());
+        }
+        if (change.title() != null || change.content() != null) {
+            index(postings, change.postId(), change.title(), change.content());
+        }
+    }
+
+    private static void index(Map<Integer, PostingList> postings, int postId, String title, String content) {
+        Map<Integer, Integer> weights = new HashMap<>();
+        countBigrams(normalize(title), TITLE_WEIGHT, weights);
+        countBigrams(normalize(content), 1, weights);
+
+        for (Map.Entry<Integer, Integer> entry : weights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), key -> new PostingList()).put(postId, entry.getValue());
+        }
+    }
+
+    private static void unindex(Map<Integer, PostingList> postings, int postId, String title, String content) {
+        for (int gram : distinctBigrams(normalize(title) + " " + normalize(content))) {
+            PostingList list = postings.get(gram);
+            if (list != null && list.remove(postId) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    // 이 서버에 반영 후 다른 서버에 전파 (트랜잭션 안이면 커밋 후)
+    private void afterCommit(Change change) {
+        Runnable task = () -> {
+            if (!enabled) return;
+            apply(change);
+            publish(change);
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    private void apply(Change change) {
+        lock.writeLock().lock();
+        try {
+            applyTo(postings, change);
+            if (changedDuringBuild != null) {
+                changedDuringBuild.add(change);
+            }
+        } catch (Exception e) {
+            System.out.println("❌ 게시글 검색 색인 반영 실패: " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void publish(Change change) {
+        try {
+            Map<String, Object> event = new HashMap<>();
+            event.put("node", nodeId);
+            event.put("postId", change.postId());
+            event.put("oldTitle", change.oldTitle());
+            event.put("oldContent", change.oldContent());
+            redisTemplate.convertAndSend(CHANNEL, objectMapper.writeValueAsString(event));
+        } catch (Exception e) {
+            // 전파 실패 시 다른 서버는 다음 재생성 때 반영
+            System.out.println("❌ 게시글 검색 색인 전파 실패: " + e.getMessage());
+        }
+    }
+
+    private static String textOrNull(JsonNode node) {
+        return node == null || node.isNull() ? null : node.asText();
+    }
+
+    // 소문자 + 글자/숫자만 남김, 공백·문장부호는 바이그램 경계 (" "로 치환)
+    private static String normalize(String text) {
+        if (text == null) return "";
+
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            sb.append(Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : ' ');
+        }
+        return sb.toString();
+    }
+
+    private static void countBigrams(String text, int weight, Map<Integer, Integer> weights) {
+        for (int i = 0; i + 1 < text.length(); i++) {
+            char first = text.charAt(i);
+            char second = text.charAt(i + 1);
+            if (first == ' ' || second == ' ') continue;
+
+            weights.merge((first << 16) | second, weight, Integer::sum);
+        }
+    }
+
+    private static int[] distinctBigrams(String text) {
+        Map<Integer, Integer> grams = new HashMap<>();
+        countBigrams(text, 1, grams);
+        return grams.keySet().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 바이그램 하나의 게시글 목록 (postId 오름차순)
+     * - (이전 postId와의 차이, 가중치)를 varint로 이어 붙인 byte[] (게시글당 보통 2~4바이트)
+     * - 새 글(가장 큰 postId)은 끝에 추가, 수정/삭제는 해당 목록만 풀어서 다시 압축
+     */
+    static final class PostingList {
+        private byte[] data = new byte[16];
+        private int length;
+        private int size;
+        private int lastId;
+
+        void put(int postId, int weight) {
+            if (size == 0 || postId > lastId) {
+                append(postId, weight);
+                return;
+            }
+
+            int[] ids = new int[size + 1];
+            int[] weights = new int[size + 1];
+            decode(ids, weights);
+
+            int n = size;
+            int index = Arrays.binarySearch(ids, 0, n, postId);
+            if (index >= 0) {
+                weights[index] = weight;
+            } else {
+                int insertAt = -index - 1;
+                System.arraycopy(ids, insertAt, ids, insertAt + 1, n - insertAt);
+                System.arraycopy(weights, insertAt, weights, insertAt + 1, n - insertAt);
+                ids[insertAt] = postId;
+                weights[insertAt] = weight;
+                n++;
+            }
+            rewrite(ids, weights, n);
+        }
+
+        boolean remove(int postId) {
+            if (size == 0 || postId > lastId) return false;
+
+            int[] ids = new int[size];
+            int[] weights = new int[size];
+            decode(ids, weights);
+
+            int index = Arrays.binarySearch(ids, postId);
+            if (index < 0) return false;
+
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(weights, index + 1, weights, index, size - index - 1);
+            rewrite(ids, weights, size - 1);
+            return true;
+        }
+
+        void decode(int[] ids, int[] weights) {
+            int position = 0;
+            int previous = 0;
+            for (int i = 0; i < size; i++) {
+                int delta = 0;
+                for (int shift = 0; ; shift += 7) {
+                    byte b = data[position++];
+                    delta |= (b & 0x7F) << shift;
+                    if (b >= 0) break;
+                }
+                int weight = 0;
+                for (int shift = 0; ; shift += 7) {
+                    byte b = data[position++];
+                    weight |= (b & 0x7F) << shift;
+                    if (b >= 0) break;
+                }
+                previous += delta;
+                ids[i] = previous;
+                weights[i] = weight;
+            }
+        }
+
+        private void rewrite(int[] ids, int[] weights, int n) {
+            length = 0;
+            size = 0;
+            lastId = 0;
+            for (int i = 0; i < n; i++) {
+                append(ids[i], weights[i]);
+            }
+            if (data.length > 64 && length < data.length / 4) {
+                data = Arrays.copyOf(data, Math.max(16, length * 2));
+            }
+        }
+
+        private void append(int postId, int weight) {
+            writeVarint(postId - lastId);
+            writeVarint(weight);
+            lastId = postId;
+            size++;
+        }
+
+        private void writeVarint(int value) {
+            if (length + 5 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            while ((value & ~0x7F) != 0) {
+                data[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[length++] = (byte) value;
+        }
+    }
+}
@@ -1,31 +1,52 @@
 package com.example.final_backend.service;
 
 import com.example.final_backend.repository.UserRepository;
+import com.example.final_backend.dto.FilterDto;
 import com.example.final_backend.dto.PostDto;
+import com.example.final_backend.entity.ModerationStatus;
 import com.example.final_backend.entity.PostEntity;
 import com.example.final_backend.entity.UserEntity;
 import com.example.final_backend.repository.PostRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class PostService {
+    // 커서 목록 한 번에 조회할 최대 개수
+    private static final int MAX_CURSOR_SIZE = 50;
+    // 검색 색인 후보를 한 번에 조회해 확인할 최소 개수
+    private static final int MATCH_BATCH_SIZE = 50;
 
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final UserPenaltyService userPenaltyService;
     private final CheckBadwordService checkBadwordService;
+    private final AsyncModerationService asyncModerationService;
+    private final TransactionTemplate transactionTemplate;
+    private final ViewCountService viewCountService;
+    private final UniqueViewService uniqueViewService;
+    private final PostSearchIndex postSearchIndex;
 
 
     // 게시글 작성
-    @Transactional
+    // 프록시 판정은 트랜잭션 밖에서 수행하고, 저장만 짧은 트랜잭션으로 처리
     public PostDto.WritePostResponse createPost(String userId, PostDto.PostRequest postRequestDto) {
         UserEntity user = userRepository.findById(userId)
                 .orElseThrow(() -> new UsernameNotFoundException("사용자 없음"));
@@ -33,40 +54,88 @@ public class PostService {
         // 사용자 제한 여부 확인
         userPenaltyService.checkUserLimit(user);
 
-        PostEntity post = PostEntity.create(user, postRequestDto.getTitle(), postRequestDto.getContent());
-        post = postRepository.save(post);
+        List<String> texts = Arrays.asList(postRequestDto.getTitle(), postRequestDto.getContent());
+
+        // 비동기 필터링 : PENDING 상태로 저장 후 바로 응답
+        if (asyncModerationService.isEnabled()) {
+            return transactionTemplate.execute(status -> {
+                PostEntity post = PostEntity.create(user, texts.get(0), texts.get(1));
+                post.setModerationStatus(ModerationStatus.PENDING);
+                PostEntity pendingPost = postRepository.save(post);
+                asyncModerationService.submitPost(pendingPost.getPostId(), texts.get(0), texts.get(1), null);
+                return PostDto.WritePostResponse.of(pendingPost, user);
+            });
+        }
+
+        // 제목 + 내용 한 번에 필터링 (DB 커넥션 없이 프록시 호출)
+        List<FilterDto.FilterResult> results = checkBadwordService.moderate(texts);
+        List<String> refined = checkBadwordService.refine(texts, results);
 
-        post.setTitle(checkBadwordService.getFilteredText(postRequestDto.getTitle(), user, post));
-        post.setContent(checkBadwordService.getFilteredText(postRequestDto.getContent(), user, post));
+        return transactionTemplate.execute(status -> {
+            UserEntity writer = userRepository.findById(userId)
+                    .orElseThrow(() -> new UsernameNotFoundException("사용자 없음"));
 
-        PostEntity createdPost = postRepository.save(post);
+            PostEntity newPost = PostEntity.create(writer, refined.get(0), refined.get(1));
+            newPost.setModerationStatus(checkBadwordService.statusOf(results));
+            PostEntity post = postRepository.save(newPost);
+            postSearchIndex.put(post.getPostId(), null, null, refined.get(0), refined.get(1));
+            checkBadwordService.recordResults(texts, results, writer, post, null);
 
-        return PostDto.WritePostResponse.of(createdPost, user);
+            return PostDto.WritePostResponse.of(post, writer);
+        });
     }
 
     // 게시글 수정
-    @Transactional
+    // 프록시 판정은 트랜잭션 밖에서 수행하고, 저장만 짧은 트랜잭션으로 처리
     public PostDto.WritePostResponse updatePost(String userId, int postId, PostDto.PostRequest postRequestPostDto) {
-        PostEntity post = postRepository.findById(postId)
+        PostEntity post = postRepository.findWithUserByPostId(postId)
                 .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다: " + postId));
 
-        UserEntity user = post.getUser();
-
         // 작성자 확인
         if (!post.getUser().getId().equals(userId)) {
             throw new IllegalArgumentException("게시글 수정 권한이 없습니다.");
         }
 
         // 사용자 제한 여부 확인
-        userPenaltyService.checkUserLimit(user);
+        userPenaltyService.checkUserLimit(post.getUser());
+
+        List<String> texts = Arrays.asList(postRequestPostDto.getTitle(), postRequestPostDto.getContent());
+
+        // 필터링을 마친 기존 글 (바뀐 문장만 다시 판정, 검토 대기 중이거나 대체 처리만 된 글은 전체 판정)
+        List<String> previousTexts = ModerationStatus.isModerated(post.getModerationStatus())
+                ? Arrays.asList(post.getTitle(), post.getContent()) : null;
+
+        // 비동기 필터링 : PENDING 상태로 저장 후 바로 응답 (검색 색인에서는 빼고, 필터링이 끝나면 다시 추가)
+        if (asyncModerationService.isEnabled()) {
+            return transactionTemplate.execute(status -> {
+                PostEntity pendingPost = findPost(postId);
+                postSearchIndex.remove(postId, pendingPost.getTitle(), pendingPost.getContent());
+                pendingPost.setTitle(texts.get(0));
+                pendingPost.setContent(texts.get(1));
+                pendingPost.setModerationStatus(ModerationStatus.PENDING);
+                pendingPost.setUpdatedAt(LocalDateTime.now());
+                asyncModerationService.submitPost(postId, texts.get(0), texts.get(1), previousTexts);
+                return PostDto.WritePostResponse.of(pendingPost, pendingPost.getUser());
+            });
+        }
 
-        post.setTitle(checkBadwordService.getFilteredText(postRequestPostDto.getTitle(), user, post));
-        post.setContent(checkBadwordService.getFilteredText(postRequestPostDto.getContent(), user, post));
-        post.setUpdatedAt(LocalDateTime.now());
+        // 바뀐 문장만 한 번에 필터링 (DB 커넥션 없이 프록시 호출)
+        List<FilterDto.FilterResult> results = checkBadwordService.moderateChanges(previousTexts, texts);
+        List<String> refined = checkBadwordService.refine(texts, results);
 
-        PostEntity updatedPost = postRepository.save(post);
+        return transactionTemplate.execute(status -> {
+            PostEntity updatedPost = findPost(postId);
+            UserEntity user = updatedPost.getUser();
 
-        return PostDto.WritePostResponse.of(updatedPost, user);
+            postSearchIndex.put(postId, updatedPost.getTitle(), updatedPost.getContent(), refined.get(0), refined.get(1));
+            updatedPost.setTitle(refined.get(0));
+            updatedPost.setContent(refined.get(1));
+            updatedPost.setModerationStatus(checkBadwordService.statusOf(results));
+            updatedPost.setUpdatedAt(LocalDateTime.now());
+            checkBadwordService.recordResults(texts, results, user, updatedPost, null);
+
+            return PostDto.WritePostResponse.of(updatedPost, user);
+        });
     }
 
     // 게시글 삭제
@@ -81,53 +150,169 @@ public class PostService {
         }
 
         postRepository.delete(post);
+        postSearchIndex.remove(postId, post.getTitle(), post.getContent());
+        uniqueViewService.delete(postId);
     }
 
-    // 게시글 상세 조회
-    @Transactional
-    public PostDto.CheckDetailsResponse getPostById(int postId, boolean increaseView) {
+    // 게시글 상세 조회 (viewer : 순 방문자 식별값, 로그인 ID 또는 IP)
+    // 조회수는 메모리에서 증가 후 주기적으로 일괄 반영 (조회마다 쓰기 트랜잭션/행 잠금 없음)
+    @Transactional(readOnly = true)
+    public PostDto.CheckDetailsResponse getPostById(int postId, boolean increaseView, String viewer) {
         PostEntity post = postRepository.findById(postId)
                 .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다: " + postId)); // <- 이 부분 요청대로 수정됨
 
         if (increaseView) {
-            post.setCount(post.getCount() + 1);
-            postRepository.save(post);
+            viewCountService.increment(postId);
+            uniqueViewService.record(postId, viewer);
         }
 
-        return PostDto.CheckDetailsResponse.of(post);
+        PostDto.CheckDetailsResponse response = PostDto.CheckDetailsResponse.of(post);
+        response.setCount((int) (post.getCount() + viewCountService.pending(postId)));
+        response.setUniqueViews(uniqueViewService.count(postId));
+        return response;
     }
 
 
     // 게시글 목록 (페이징) 조회
+    @Transactional(readOnly = true)
     public Page<PostDto.CheckPostResponse> getPostsWithPaging(Pageable pageable) {
-        Page<Object[]> result = postRepository.findAllWithCommentCount(pageable);
-        return result.map(obj -> {
-            PostEntity post = (PostEntity) obj[0];
-            Long commentCount = (Long) obj[1];
-
-            post.setCommentCount(commentCount.intValue());
-            return PostDto.CheckPostResponse.of(post);
-        });
+        return withUniqueViews(postRepository.findAllBy(pageable)
+                .map(PostDto.CheckPostResponse::of));
     }
 
     // 게시글 검색
+    // 메모리 역색인으로 점수순 후보를 구한 뒤 필요한 만큼만 조회해 실제 포함 여부 확인 (색인 사용 불가 시 DB LIKE)
+    // 전체 개수 : 확인한 글 수 + 확인하지 않은 후보 수 (후보를 모두 확인한 마지막 페이지에서는 정확)
+    @Transactional(readOnly = true)
     public Page<PostDto.CheckPostResponse> searchPosts(String keyword, Pageable pageable) {
-        Page<Object[]> results = postRepository.findAllWithCommentCountByKeyword(keyword, pageable);
+        int[] ranked = postSearchIndex.search(keyword);
+        if (ranked == null) {
+            return withUniqueViews(postRepository.findByKeyword(keyword, pageable)
+                    .map(PostDto.CheckPostResponse::of));
+        }
 
-        return results.map(row -> {
-            PostEntity post = (PostEntity) row[0];
-            Long commentCount = (Long) row[1];
+        long need = pageable.getOffset() + pageable.getPageSize();
+        Matches matches = collectMatches(keyword, ranked, 0, (int) Math.min(need, ranked.length));
 
-            // commentCount를 PostEntity에 임시 주입
-            post.setCommentCount(commentCount.intValue());
+        List<PostEntity> posts = matches.posts();
+        int from = (int) Math.min(pageable.getOffset(), posts.size());
+        int to = (int) Math.min(need, posts.size());
+        List<PostDto.CheckPostResponse> content = posts.subList(from, to).stream()
+                .map(PostDto.CheckPostResponse::of)
+                .toList();
 
-            return PostDto.CheckPostResponse.of(post);
-        });
+        long total = posts.size() + (ranked.length - matches.checked());
+        return withUniqueViews(new PageImpl<>(content, pageable, total));
     }
 
     // 내 게시글 조회
+    @Transactional(readOnly = true)
     public Page<PostDto.CheckPostResponse> getMyPosts(String userId, Pageable pageable) {
-        return postRepository.findByUserId_Id(userId, pageable)
-                .map(PostDto.CheckPostResponse::of);
+        return withUniqueViews(postRepository.findByUserId_Id(userId, pageable)
+                .map(PostDto.CheckPostResponse::of));
+    }
+
+    // 커서 기반 게시글 목록 (OFFSET/COUNT 없이 인덱스 순서대로 size개)
+    @Transactional(readOnly = true)
+    public PostDto.CursorPage getPostsByCursor(String cursor, int size) {
+        PostDto.Cursor after = PostDto.Cursor.decode(cursor);
+        return toCursorPage(postRepository.findSliceBefore(after.createdAt(), after.postId(), cursorPageable(size)));
+    }
+
+    // 커서 기반 게시글 검색
+    // 메모리 역색인 후보를 최신(큰 postId)순으로 커서 다음부터 확인해 size개 (색인 사용 불가 시 DB LIKE)
+    // postId는 작성 순서대로 증가하므로 색인 경로에서는 커서의 postId만으로 다음 페이지 위치를 찾음
+    @Transactional(readOnly = true)
+    public PostDto.CursorPage searchPostsByCursor(String keyword, String cursor, int size) {
+        PostDto.Cursor after = PostDto.Cursor.decode(cursor);
+        Pageable pageable = cursorPageable(size);
+
+        int[] recent = postSearchIndex.searchRecent(keyword);
+        if (recent == null) {
+            return toCursorPage(postRepository.findSliceByKeywordBefore(
+                    keyword, after.createdAt(), after.postId(), pageable));
+        }
+
+        // 다음 페이지 여부 확인용으로 1개 더
+        List<PostEntity> posts = collectMatches(keyword, recent, firstBefore(recent, after.postId()),
+                pageable.getPageSize() + 1).posts();
+        boolean hasNext = posts.size() > pageable.getPageSize();
+        List<PostEntity> content = posts.subList(0, Math.min(posts.size(), pageable.getPageSize()));
+
+        return toCursorPage(new SliceImpl<>(content, pageable, hasNext));
+    }
+
+    // 커서 기반 내 게시글 조회 (userId : 사용자 식별 번호)
+    @Transactional(readOnly = true)
+    public PostDto.CursorPage getMyPostsByCursor(int userId, String cursor, int size) {
+        PostDto.Cursor after = PostDto.Cursor.decode(cursor);
+        return toCursorPage(postRepository.findSliceByUserBefore(
+                userId, after.createdAt(), after.postId(), cursorPageable(size)));
+    }
+
+    // 색인 후보를 from부터 순서대로 조회해 키워드가 실제로 들어 있는 글을 limit개 이상 모음
+    // (후보는 바이그램만 모두 가진 글, 색인 반영 전에 삭제된 글은 제외), checked : 확인을 마친 후보 위치
+    private record Matches(List<PostEntity> posts, int checked) {
+    }
+
+    private Matches collectMatches(String keyword, int[] candidates, int from, int limit) {
+        List<PostEntity> matched = new ArrayList<>();
+        int checked = from;
+
+        while (matched.size() < limit && checked < candidates.length) {
+            int to = Math.min(checked + Math.max(limit - matched.size(), MATCH_BATCH_SIZE), candidates.length);
+            List<Integer> ids = Arrays.stream(candidates, checked, to).boxed().toList();
+
+            Map<Integer, PostEntity> posts = new HashMap<>();
+            postRepository.findAllById(ids).forEach(post -> posts.put(post.getPostId(), post));
+
+            // 후보 순서 유지
+            for (Integer id : ids) {
+                PostEntity post = posts.get(id);
+                if (post != null && PostSearchIndex.matches(keyword, post.getTitle(), post.getContent())) {
+                    matched.add(post);
+                }
+            }
+            checked = to;
+        }
+        return new Matches(matched, checked);
+    }
+
+    // postId 내림차순 배열에서 postId보다 작은 첫 위치
+    private static int firstBefore(int[] descending, int postId) {
+        int low = 0;
+        int high = descending.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (descending[mid] >= postId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private Pageable cursorPageable(int size) {
+        return PageRequest.of(0, Math.max(1, Math.min(size, MAX_CURSOR_SIZE)));
+    }
+
+    private PostDto.CursorPage toCursorPage(Slice<PostEntity> slice) {
+        return PostDto.CursorPage.of(withUniqueViews(slice.map(PostDto.CheckPostResponse::of)));
+    }
+
+    // 목록 페이지의 순 방문자 수 채우기 (Redis 파이프라인 1회)
+    private <S extends Slice<PostDto.CheckPostResponse>> S withUniqueViews(S page) {
+        if (!uniqueViewService.isEnabled() || page.isEmpty()) return page;
+
+        Map<Integer, Long> uniqueViews = uniqueViewService.count(
+                page.getContent().stream().map(PostDto.CheckPostResponse::getPostId).toList());
+        page.forEach(response -> response.setUniqueViews(uniqueViews.get(response.getPostId())));
+        return page;
+    }
+
+    private PostEntity findPost(int postId) {
+        return postRepository.findById(postId)
+                .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다: " + postId));
     }
 }
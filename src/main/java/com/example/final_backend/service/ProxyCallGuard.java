@@ -0,0 +1,117 @@
+package com.example.final_backend.service;
+
+import com.example.final_backend.moderation.ProxyCircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 프록시 호출 보호 (서킷 브레이커 + 벌크헤드)
+ * - 서킷이 열려 있거나 동시 호출 수가 가득 차면 기다리지 않고 바로 대체(fallback) 결과 반환
+ * - 프록시 장애 시 요청 스레드가 타임아웃까지 묶이는 것을 방지
+ */
+
+@Service
+@RequiredArgsConstructor
+public class ProxyCallGuard {
+    private final MeterRegistry meterRegistry;
+
+    @Value("${moderation.circuit.window-size:20}")
+    private int windowSize;
+
+    @Value("${moderation.circuit.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${moderation.circuit.failure-rate-threshold:50}")
+    private int failureRateThreshold;
+
+    @Value("${moderation.circuit.slow-call-rate-threshold:80}")
+    private int slowCallRateThreshold;
+
+    @Value("${moderation.circuit.slow-call-ms:2000}")
+    private long slowCallMs;
+
+    @Value("${moderation.circuit.open-duration-ms:10000}")
+    private long openDurationMs;
+
+    @Value("${moderation.circuit.half-open-permits:3}")
+    private int halfOpenPermits;
+
+    // 동시에 진행 가능한 프록시 호출 수
+    @Value("${moderation.bulkhead.max-concurrent:20}")
+    private int maxConcurrent;
+
+    // 벌크헤드 자리 대기 시간
+    @Value("${moderation.bulkhead.max-wait-ms:50}")
+    private long maxWaitMs;
+
+    private ProxyCircuitBreaker circuitBreaker;
+    private Semaphore bulkhead;
+    private Counter circuitRejected;
+    private Counter bulkheadRejected;
+
+    @PostConstruct
+    public void init() {
+        this.circuitBreaker = new ProxyCircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                slowCallRateThreshold, slowCallMs, openDurationMs, halfOpenPermits);
+        this.bulkhead = new Semaphore(maxConcurrent);
+
+        this.circuitRejected = Counter.builder("moderation.proxy.rejected").tag("reason", "circuit_open").register(meterRegistry);
+        this.bulkheadRejected = Counter.builder("moderation.proxy.rejected").tag("reason", "bulkhead_full").register(meterRegistry);
+        meterRegistry.gauge("moderation.proxy.circuit.state", circuitBreaker, cb -> cb.getState().ordinal());
+        meterRegistry.gauge("moderation.proxy.in-flight", bulkhead, b -> maxConcurrent - b.availablePermits());
+    }
+
+    // 보호된 호출 실행 (isFailure 가 true 인 결과는 실패로 기록)
+    public <T> T execute(Supplier<T> call, Predicate<T> isFailure, Supplier<T> fallback) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            circuitRejected.increment();
+            return fallback.get();
+        }
+
+        if (!acquireBulkhead()) {
+            circuitBreaker.releasePermission();
+            bulkheadRejected.increment();
+            return fallback.get();
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            T result = call.get();
+            long elapsed = System.currentTimeMillis() - start;
+
+            if (isFailure.test(result)) {
+                circuitBreaker.onError(elapsed);
+            } else {
+                circuitBreaker.onSuccess(elapsed);
+            }
+            return result;
+        } catch (RuntimeException e) {
+            circuitBreaker.onError(System.currentTimeMillis() - start);
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public ProxyCircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    private boolean acquireBulkhead() {
+        try {
+            return bulkhead.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package com.example.final_backend.service;
 
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 
 /**
  * JWT 토큰 관리(특히 로그아웃 및 재발급)
+ * - 사용자별 세션 해시 sessions:{userId} (sid -> "RefreshToken jti:만료 시각[:이전 jti:교체 시각]"), 기기마다 세션 1개
+ * - 로그아웃한 AccessToken은 blacklist:{jti}에 남은 만료 시간만큼 저장
+ * - jti가 없는 이전 버전 토큰은 refresh:{userId} 삭제 + blacklist:legacy-{토큰 해시} 저장
+ * - 로그인, 재발급, 로그아웃 모두 Redis 호출 1회 (Lua 스크립트 또는 단일 명령)
+ * - 재발급은 compare-and-swap 스크립트로 RefreshToken 교체 (이미 교체된 토큰 재사용 시 세션 종료)
  */
 
 @Service
@@ -15,44 +22,140 @@ import java.util.concurrent.TimeUnit;
 public class RedisService {
     private final RedisTemplate<String, String> redisTemplate;
 
-    private static final String ACCESS_TOKEN_PREFIX = "access:";
-    private static final String REFRESH_TOKEN_PREFIX = "refresh:";
+    private static final String SESSIONS_PREFIX = "sessions:";
+    private static final String LEGACY_REFRESH_PREFIX = "refresh:";
+    public static final String BLACKLIST_PREFIX = "blacklist:";
 
-    // RefreshToken을 Redis에 저장
-    public void saveRefreshToken(String userId, String refreshToken, long ttl) {
-        String key = REFRESH_TOKEN_PREFIX + userId;
-        redisTemplate.opsForValue().set(key, refreshToken, ttl, TimeUnit.MILLISECONDS);
+    // KEYS[1] 세션 해시 | ARGV[1] sid, ARGV[2] RefreshToken jti, ARGV[3] 만료 시각(ms), ARGV[4] 현재 시각(ms)
+    // 만료된 세션 정리 → 세션 저장 → 해시 TTL을 가장 늦은 세션 만료 시각 이상으로 연장
+    private static final String SAVE_SESSION_SCRIPT = """
+            local now = tonumber(ARGV[4])
+            local entries = redis.call('HGETALL', KEYS[1])
+            for i = 1, #entries, 2 do
+                local expireAt = tonumber(string.match(entries[i + 1], '^[^:]*:(%d+)'))
+                if expireAt <= now then redis.call('HDEL', KEYS[1], entries[i]) end
+            end
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2] .. ':' .. ARGV[3])
+            local ttl = tonumber(ARGV[3]) - now
+            if redis.call('PTTL', KEYS[1]) < ttl then redis.call('PEXPIRE', KEYS[1], ttl) end
+            return 1
+            """;
+
+    // KEYS[1] 세션 해시 | ARGV[1] sid, ARGV[2] 기존 jti, ARGV[3] 새 jti, ARGV[4] 새 만료 시각(ms), ARGV[5] 현재 시각(ms)
+    // ARGV[6] 동시 재발급 허용 시간(ms)
+    // 반환 1 : 교체 | 0 : 세션 없음·만료 | 2 : 방금 교체된 토큰 (동시 재발급, 세션 유지) | -1 : 재사용 감지 (세션 삭제)
+    private static final String ROTATE_SCRIPT = """
+            local value = redis.call('HGET', KEYS[1], ARGV[1])
+            if not value then return 0 end
+            local jti, expireAt, prevJti, rotatedAt = string.match(value, '^([^:]*):(%d+):?([^:]*):?(%d*)$')
+            local now = tonumber(ARGV[5])
+            if jti == ARGV[2] then
+                if tonumber(expireAt) <= now then
+                    redis.call('HDEL', KEYS[1], ARGV[1])
+                    return 0
+                end
+                redis.call('HSET', KEYS[1], ARGV[1], ARGV[3] .. ':' .. ARGV[4] .. ':' .. ARGV[2] .. ':' .. ARGV[5])
+                local ttl = tonumber(ARGV[4]) - now
+                if redis.call('PTTL', KEYS[1]) < ttl then redis.call('PEXPIRE', KEYS[1], ttl) end
+                return 1
+            end
+            if prevJti == ARGV[2] and rotatedAt ~= '' and now - tonumber(rotatedAt) <= tonumber(ARGV[6]) then
+                return 2
+            end
+            redis.call('HDEL', KEYS[1], ARGV[1])
+            return -1
+            """;
+
+    // KEYS[1] 세션 해시, KEYS[2] 블랙리스트 키 | ARGV[1] sid, ARGV[2] userId, ARGV[3] AccessToken 남은 시간(ms)
+    // ARGV[4] 블랙리스트 채널, ARGV[5] 블랙리스트 이벤트
+    private static final String LOGOUT_SCRIPT = """
+            redis.call('HDEL', KEYS[1], ARGV[1])
+            if tonumber(ARGV[3]) > 0 then
+                redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3])
+                redis.call('PUBLISH', ARGV[4], ARGV[5])
+            end
+            return 1
+            """;
+
+    // KEYS[1] 이전 버전 RefreshToken 키, KEYS[2] 블랙리스트 키 | ARGV[1] userId, ARGV[2] AccessToken 남은 시간(ms)
+    // ARGV[3] 블랙리스트 채널, ARGV[4] 블랙리스트 이벤트
+    private static final String LEGACY_LOGOUT_SCRIPT = """
+            redis.call('DEL', KEYS[1])
+            if tonumber(ARGV[2]) > 0 then
+                redis.call('SET', KEYS[2], ARGV[1], 'PX', ARGV[2])
+                redis.call('PUBLISH', ARGV[3], ARGV[4])
+            end
+            return 1
+            """;
+
+    private DefaultRedisScript<Long> saveSessionScript;
+    private DefaultRedisScript<Long> rotateScript;
+    private DefaultRedisScript<Long> logoutScript;
+    private DefaultRedisScript<Long> legacyLogoutScript;
+
+    public enum Rotation {
+        ROTATED, NOT_FOUND, CONCURRENT, REUSED
     }
 
-    // AccessToken을 Redis에 저장 (블랙리스트 관리용)
-    public void saveAccessToken(String userId, String accessToken, long ttl) {
-        String key = ACCESS_TOKEN_PREFIX + userId;
-        redisTemplate.opsForValue().set(key, accessToken, ttl, TimeUnit.MILLISECONDS);
+    @PostConstruct
+    public void init() {
+        saveSessionScript = new DefaultRedisScript<>(SAVE_SESSION_SCRIPT, Long.class);
+        rotateScript = new DefaultRedisScript<>(ROTATE_SCRIPT, Long.class);
+        logoutScript = new DefaultRedisScript<>(LOGOUT_SCRIPT, Long.class);
+        legacyLogoutScript = new DefaultRedisScript<>(LEGACY_LOGOUT_SCRIPT, Long.class);
     }
 
-    // RefreshToken 조회
-    public String getRefreshToken(String userId) {
-        String key = REFRESH_TOKEN_PREFIX + userId;
-        Object value = redisTemplate.opsForValue().get(key);
-        return value != null ? value.toString() : null;
+    // 세션 저장 (로그인 시, 같은 사용자의 다른 기기 세션은 유지)
+    public void saveSession(String userId, String sessionId, String refreshTokenId, long expireAtMs) {
+        redisTemplate.execute(saveSessionScript, List.of(SESSIONS_PREFIX + userId),
+                sessionId, refreshTokenId, String.valueOf(expireAtMs), String.valueOf(System.currentTimeMillis()));
+    }
+
+    // 세션의 현재 RefreshToken인지 확인 (재발급 시)
+    public boolean isActiveSession(String userId, String sessionId, String refreshTokenId) {
+        Object value = redisTemplate.opsForHash().get(SESSIONS_PREFIX + userId, sessionId);
+        if (value == null) return false;
+
+        String[] stored = value.toString().split(":");
+        return stored[0].equals(refreshTokenId) && Long.parseLong(stored[1]) > System.currentTimeMillis();
+    }
+
+    // RefreshToken 교체 (세션의 현재 jti가 기존 jti일 때만 새 jti로 교체)
+    public Rotation rotateSession(String userId, String sessionId, String oldTokenId, String newTokenId,
+                                  long newExpireAtMs, long concurrentGraceMs) {
+        Long result = redisTemplate.execute(rotateScript, List.of(SESSIONS_PREFIX + userId),
+                sessionId, oldTokenId, newTokenId, String.valueOf(newExpireAtMs),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(concurrentGraceMs));
+
+        if (result == null) return Rotation.NOT_FOUND;
+        return switch (result.intValue()) {
+            case 1 -> Rotation.ROTATED;
+            case 2 -> Rotation.CONCURRENT;
+            case -1 -> Rotation.REUSED;
+            default -> Rotation.NOT_FOUND;
+        };
     }
 
     // AccessToken 블랙리스트 체크
-    public boolean isAccessTokenBlacklisted(String userId, String accessToken) {
-        String key = ACCESS_TOKEN_PREFIX + userId;
-        Object value = redisTemplate.opsForValue().get(key);
-        return value != null && value.toString().equals(accessToken);
+    public boolean isAccessTokenBlacklisted(String accessTokenId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(BLACKLIST_PREFIX + accessTokenId));
     }
 
-    // RefreshToken 삭제 (로그아웃 시)
-    public void deleteRefreshToken(String userId) {
-        String key = REFRESH_TOKEN_PREFIX + userId;
-        redisTemplate.delete(key);
+    // 로그아웃 : 세션 삭제 + AccessToken 블랙리스트 등록 + 다른 서버에 전파
+    public void logoutSession(String userId, String sessionId, String accessTokenId, long accessExpireAtMs) {
+        long ttl = accessExpireAtMs - System.currentTimeMillis();
+        redisTemplate.execute(logoutScript,
+                List.of(SESSIONS_PREFIX + userId, BLACKLIST_PREFIX + accessTokenId),
+                sessionId, userId, String.valueOf(ttl),
+                TokenBlacklistCache.CHANNEL, TokenBlacklistCache.event(accessTokenId, accessExpireAtMs));
     }
 
-    // AccessToken 블랙리스트에 추가 (로그아웃 시)
-    public void blacklistAccessToken(String userId, String accessToken, long ttl) {
-        String key = ACCESS_TOKEN_PREFIX + userId;
-        redisTemplate.opsForValue().set(key, accessToken, ttl, TimeUnit.MILLISECONDS);
+    // 이전 버전 토큰 로그아웃 : 사용자 RefreshToken 삭제 + AccessToken(원문 해시) 블랙리스트 등록 + 다른 서버에 전파
+    public void logoutLegacy(String userId, String blacklistId, long accessExpireAtMs) {
+        long ttl = accessExpireAtMs - System.currentTimeMillis();
+        redisTemplate.execute(legacyLogoutScript,
+                List.of(LEGACY_REFRESH_PREFIX + userId, BLACKLIST_PREFIX + blacklistId),
+                userId, String.valueOf(ttl),
+                TokenBlacklistCache.CHANNEL, TokenBlacklistCache.event(blacklistId, accessExpireAtMs));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,269 @@
+package com.example.final_backend.service;
+
+import com.example.final_backend.entity.UserLimitsEntity;
+import com.example.final_backend.repository.UserLimitsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 이용 제한 사용자 인덱스 (userId -> 제한 종료 시각)
+ * - 글/댓글 작성 시 제한 여부를 DB 조회 없이 메모리에서 확인
+ * - 제한 시작/해제는 Redis pub/sub(restriction:events)으로 다른 서버에 전파
+ * - 메시지 유실에 대비해 주기적으로 limits 테이블 기준 재구성 (restriction.resync-interval-ms)
+ *   재구성 중 들어온 제한/해제는 DB 스냅샷보다 최신이므로 덮어쓰지 않음 (맵 교체 대신 병합)
+ * - DB는 실제 상태가 바뀔 때(제한 시작, 기간 만료 후 해제)만 수정
+ * - 제한 종료 시각은 DelayQueue로 예약 → 만료 시각에 모인 사용자를 UPDATE 1회로 일괄 해제 후 해제 이벤트 전파
+ */
+
+@Service
+@RequiredArgsConstructor
+public class RestrictionIndexService implements MessageListener {
+    private static final String CHANNEL = "restriction:events";
+
+    private final UserLimitsRepository userLimitsRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    // 한 번에 해제할 최대 사용자 수
+    @Value("${restriction.release.batch-size:500}")
+    private int releaseBatchSize;
+
+    // 제한 중인 사용자 (종료 시각 epoch ms, 종료 시각이 없으면 Long.MAX_VALUE)
+    private final Map<Integer, Long> restricted = new ConcurrentHashMap<>();
+
+    // 마지막으로 제한/해제가 반영된 시각 (재구성 시작 이후 바뀐 사용자는 DB 스냅샷으로 덮어쓰지 않음)
+    private final Map<Integer, Long> changedAt = new ConcurrentHashMap<>();
+
+    // 제한 종료 예약
+    private final DelayQueue<Expiry> expiries = new DelayQueue<>();
+    private Thread expiryWorker;
+    private volatile boolean running;
+
+    private record Expiry(int userId, long endAt) implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(endAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        // 종료 시각으로 비교 (getDelay는 호출 시점마다 달라 정렬이 흔들림)
+        @Override
+        public int compareTo(Delayed other) {
+            if (other instanceof Expiry expiry) {
+                return Long.compare(endAt, expiry.endAt);
+            }
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        meterRegistry.gauge("restriction.index.size", this, index -> index.restricted.size());
+
+        running = true;
+        expiryWorker = new Thread(this::runExpiryLoop, "restriction-expiry");
+        expiryWorker.setDaemon(true);
+        expiryWorker.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        expiryWorker.interrupt();
+        expiryWorker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    // 서버 기동 시 + 주기적으로 DB 기준 재구성
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${restriction.resync-interval-ms:60000}", initialDelayString = "${restriction.resync-interval-ms:60000}")
+    public void reload() {
+        long startedAt = System.currentTimeMillis();
+        Map<Integer, Long> loaded = new HashMap<>();
+
+        for (UserLimitsEntity limit : userLimitsRepository.findByIsActiveFalse()) {
+            loaded.put(limit.getUserId(), toEpochMillis(limit.getEndDate()));
+        }
+
+        // DB 기준 제한 반영 (새로 알게 된 제한만 종료 예약, 재구성마다 중복 예약하지 않음)
+        for (Map.Entry<Integer, Long> entry : loaded.entrySet()) {
+            int userId = entry.getKey();
+            long endAt = entry.getValue();
+            boolean[] added = {false};
+
+            restricted.compute(userId, (id, current) -> {
+                if (changedSince(id, startedAt)) return current;
+                added[0] = !Long.valueOf(endAt).equals(current);
+                return endAt;
+            });
+            if (added[0]) {
+                scheduleExpiry(userId, endAt);
+            }
+        }
+
+        // DB에 없는 제한은 재구성 시작 전에 반영된 것만 제거
+        for (Integer userId : List.copyOf(restricted.keySet())) {
+            if (!loaded.containsKey(userId)) {
+                restricted.computeIfPresent(userId, (id, endAt) -> changedSince(id, startedAt) ? endAt : null);
+            }
+        }
+        changedAt.values().removeIf(at -> at < startedAt);
+    }
+
+    // 작성 제한 여부 확인 (기간이 끝났으면 해제 후 false)
+    public boolean isRestricted(int userId) {
+        Long endAt = restricted.get(userId);
+        if (endAt == null) return false;
+        if (System.currentTimeMillis() < endAt) return true;
+
+        // 기간 만료 : DB 해제는 한 서버만 성공, 인덱스는 모든 서버에서 제거
+        if (userLimitsRepository.releaseIfExpired(userId, LocalDateTime.now()) > 0) {
+            System.out.println("24시간 제한 자동 해제됨");
+        }
+        markChanged(userId);
+        restricted.remove(userId, endAt);
+        publish("release:" + userId);
+        return false;
+    }
+
+    // 제한 시작 등록 (트랜잭션 안이면 커밋 후 반영)
+    public void restrict(int userId, LocalDateTime endDate) {
+        Runnable task = () -> {
+            long endAt = toEpochMillis(endDate);
+            markChanged(userId);
+            restricted.put(userId, endAt);
+            scheduleExpiry(userId, endAt);
+            publish("restrict:" + userId + ":" + endAt);
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    // 다른 서버에서 보낸 제한 시작/해제 반영
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        // restrict:{userId}:{endAt} | release:{userId},{userId},...
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+
+        try {
+            if ("restrict".equals(parts[0])) {
+                int userId = Integer.parseInt(parts[1]);
+                long endAt = Long.parseLong(parts[2]);
+                markChanged(userId);
+                if (!Long.valueOf(endAt).equals(restricted.put(userId, endAt))) {
+                    scheduleExpiry(userId, endAt);
+                }
+            } else if ("release".equals(parts[0])) {
+                for (String userId : parts[1].split(",")) {
+                    markChanged(Integer.parseInt(userId));
+                    restricted.remove(Integer.parseInt(userId));
+                }
+            }
+        } catch (Exception e) {
+            System.out.println("❌ 제한 이벤트 처리 실패: " + e.getMessage());
+        }
+    }
+
+    // 제한/해제 반영 직전에 기록 (재구성이 이 사용자를 건너뛰도록)
+    private void markChanged(int userId) {
+        changedAt.put(userId, System.currentTimeMillis());
+    }
+
+    private boolean changedSince(int userId, long startedAt) {
+        Long at = changedAt.get(userId);
+        return at != null && at >= startedAt;
+    }
+
+    private void scheduleExpiry(int userId, long endAt) {
+        if (endAt != Long.MAX_VALUE) {
+            expiries.add(new Expiry(userId, endAt));
+        }
+    }
+
+    // 종료 시각이 된 제한을 모아서 일괄 해제
+    private void runExpiryLoop() {
+        while (running) {
+            try {
+                Expiry first = expiries.take();
+                List<Expiry> due = new ArrayList<>();
+                due.add(first);
+                expiries.drainTo(due, releaseBatchSize - 1);
+
+                releaseAll(due);
+            } catch (InterruptedException e) {
+                break;
+            } catch (Exception e) {
+                System.out.println("❌ 제한 일괄 해제 실패: " + e.getMessage());
+            }
+        }
+    }
+
+    private void releaseAll(List<Expiry> due) {
+        // 그 사이 다시 제한되어 종료 시각이 바뀐 사용자는 제외
+        List<Integer> userIds = due.stream()
+                .filter(expiry -> Long.valueOf(expiry.endAt()).equals(restricted.get(expiry.userId())))
+                .map(Expiry::userId)
+                .distinct()
+                .toList();
+        if (userIds.isEmpty()) return;
+
+        int released = userLimitsRepository.releaseAllExpired(userIds, LocalDateTime.now());
+        for (Expiry expiry : due) {
+            markChanged(expiry.userId());
+            restricted.remove(expiry.userId(), expiry.endAt());
+        }
+
+        publish("release:" + userIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        System.out.println("⏰ 제한 일괄 해제: " + released + "명");
+    }
+
+    private void publish(String event) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, event);
+        } catch (Exception e) {
+            // 전파 실패 시 다른 서버는 다음 재구성 때 반영
+            System.out.println("❌ 제한 이벤트 전파 실패: " + e.getMessage());
+        }
+    }
+
+    private long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : Long.MAX_VALUE;
+    }
+}
@@ -40,7 +40,7 @@ public class ServerToProxyJwtService {
     }
 
     // JSON 문자열 만드는 메서드
-    public String createJsonBody(Map<String, String> requestBodyMap) throws Exception {
+    public String createJsonBody(Map<String, ?> requestBodyMap) throws Exception {
         ObjectMapper mapper = new ObjectMapper();
         mapper.configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
         mapper.configure(JsonGenerator.Feature.ESCAPE_NON_ASCII, false);
@@ -48,13 +48,18 @@ public class ServerToProxyJwtService {
         return mapper.writeValueAsString(requestBodyMap);
     }
 
+    // JSON 본문 SHA-256 해시 (JWT hash claim, 필터링 결과 캐시 키로 사용)
+    public String hashBody(String jsonBody) {
+        return DigestUtils.sha256Hex(jsonBody);
+    }
+
     // JSON 문자열을 받아서 JWT를 생성하는 메서드
     public String generateTokenFromJson(String jsonBody) {
         long nowMillis = System.currentTimeMillis();
         Date now = new Date(nowMillis);
         Date expiryDate = new Date(nowMillis + expirationMillis);
 
-        String bodyHash = DigestUtils.sha256Hex(jsonBody);
+        String bodyHash = hashBody(jsonBody);
 
         Map<String, Object> claims = new HashMap<>();
         claims.put("iss", "purgo-skfinal");
@@ -0,0 +1,143 @@
+package com.example.final_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AccessToken 블랙리스트 near-cache (토큰 jti -> 만료 시각)
+ * - 로그아웃 시 Redis pub/sub(token:blacklist)으로 모든 서버에 전파, 기동 시 Redis(blacklist:*)에서 적재
+ * - 평소에는 메모리에서만 확인 (Redis 호출 없음)
+ * - 주기적 재동기화(resync-interval-ms)가 max-stale-ms 이상 실패하면 Redis 직접 조회로 전환
+ * - Redis 직접 조회도 실패하면 on-redis-error(deny | allow)에 따라 처리
+ */
+
+@Service
+@RequiredArgsConstructor
+public class TokenBlacklistCache implements MessageListener {
+    public static final String CHANNEL = "token:blacklist";
+    private static final String BLACKLIST_PATTERN = RedisService.BLACKLIST_PREFIX + "*";
+
+    private final RedisService redisService;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auth.blacklist.near-cache.enabled:true}")
+    private boolean enabled;
+
+    // 마지막 동기화 후 이 시간이 지나면 near-cache를 믿지 않고 Redis 직접 조회
+    @Value("${auth.blacklist.max-stale-ms:60000}")
+    private long maxStaleMs;
+
+    // Redis 장애 시 처리 (deny : 차단된 토큰으로 간주 | allow : 허용)
+    @Value("${auth.blacklist.on-redis-error:deny}")
+    private String onRedisError;
+
+    private final Map<String, Long> blacklisted = new ConcurrentHashMap<>();
+    private volatile long lastSyncAt;
+    private Counter redisLookups;
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        redisLookups = Counter.builder("auth.blacklist.redis-lookups")
+                .description("near-cache를 사용하지 못해 Redis로 직접 확인한 횟수")
+                .register(meterRegistry);
+        meterRegistry.gauge("auth.blacklist.size", blacklisted, Map::size);
+    }
+
+    // 기동 시 + 주기적으로 Redis 블랙리스트 전체 재적재 (메시지 유실 보정, 만료 항목 정리)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${auth.blacklist.resync-interval-ms:30000}", initialDelayString = "${auth.blacklist.resync-interval-ms:30000}")
+    public void resync() {
+        if (!enabled) return;
+
+        try {
+            long now = System.currentTimeMillis();
+            ScanOptions options = ScanOptions.scanOptions().match(BLACKLIST_PATTERN).count(500).build();
+
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                while (cursor.hasNext()) {
+                    String key = cursor.next();
+                    Long ttl = redisTemplate.getExpire(key, TimeUnit.MILLISECONDS);
+
+                    if (ttl != null && ttl > 0) {
+                        blacklisted.put(key.substring(RedisService.BLACKLIST_PREFIX.length()), now + ttl);
+                    }
+                }
+            }
+
+            blacklisted.values().removeIf(expireAt -> expireAt <= now);
+            lastSyncAt = now;
+        } catch (Exception e) {
+            System.out.println("❌ 토큰 블랙리스트 동기화 실패: " + e.getMessage());
+        }
+    }
+
+    // 블랙리스트 여부 확인 (VerifiedClaims.blacklistId, 키가 없으면 차단 대상 아님)
+    public boolean isBlacklisted(String accessTokenId) {
+        if (accessTokenId == null) return false;
+
+        if (!enabled || System.currentTimeMillis() - lastSyncAt > maxStaleMs) {
+            return lookupRedis(accessTokenId);
+        }
+
+        Long expireAt = blacklisted.get(accessTokenId);
+        return expireAt != null && expireAt > System.currentTimeMillis();
+    }
+
+    // 로그아웃 토큰 즉시 반영 (전파는 RedisService 로그아웃 스크립트에서 PUBLISH)
+    public void remember(String accessTokenId, long expireAtMs) {
+        blacklisted.put(accessTokenId, expireAtMs);
+    }
+
+    // 전파 메시지 형식 : {jti}:{만료 시각}
+    public static String event(String accessTokenId, long expireAtMs) {
+        return accessTokenId + ":" + expireAtMs;
+    }
+
+    // 다른 서버에서 보낸 로그아웃 토큰 반영
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        apply(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    // {jti}:{만료 시각}
+    private void apply(String event) {
+        int separator = event.lastIndexOf(':');
+        try {
+            blacklisted.put(event.substring(0, separator), Long.parseLong(event.substring(separator + 1)));
+        } catch (Exception e) {
+            System.out.println("❌ 토큰 블랙리스트 이벤트 처리 실패: " + e.getMessage());
+        }
+    }
+
+    private boolean lookupRedis(String accessTokenId) {
+        redisLookups.increment();
+        try {
+            return redisService.isAccessTokenBlacklisted(accessTokenId);
+        } catch (Exception e) {
+            System.out.println("❌ 토큰 블랙리스트 Redis 조회 실패: " + e.getMessage());
+            return !"allow".equalsIgnoreCase(onRedisError);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.final_backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 게시글 순 방문자 수 (Redis HyperLogLog, 오차 약 0.81%, 키당 최대 약 12KB)
+ * - post:uv:{postId} : 전체 기간 순 방문자, post:uv:{postId}:{yyyyMMdd} : 일별 순 방문자 (retention-days 후 만료)
+ * - 방문자 식별 : 로그인 사용자는 로그인 ID, 비로그인은 IP
+ * - 기록/조회 모두 파이프라인 1회, Redis 장애 시 순 방문자 수만 생략 (조회수와 본문 응답은 유지)
+ * - 게시글 삭제 시 키도 함께 삭제 (전체 기간 키는 만료 없음)
+ */
+
+@Service
+@RequiredArgsConstructor
+public class UniqueViewService {
+    private static final String KEY_PREFIX = "post:uv:";
+    private static final DateTimeFormatter DAY = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Value("${post.unique-view.enabled:true}")
+    private boolean enabled;
+
+    @Value("${post.unique-view.retention-days:30}")
+    private int retentionDays;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 방문 기록 (전체 + 오늘)
+    public void record(int postId, String viewer) {
+        if (!enabled || viewer == null) return;
+
+        String totalKey = KEY_PREFIX + postId;
+        String dailyKey = totalKey + ":" + LocalDate.now().format(DAY);
+
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    operations.opsForHyperLogLog().add(totalKey, viewer);
+                    operations.opsForHyperLogLog().add(dailyKey, viewer);
+                    operations.expire(dailyKey, Duration.ofDays(retentionDays));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            System.out.println("❌ 순 방문자 기록 실패: " + e.getMessage());
+        }
+    }
+
+    // 게시글 1개 순 방문자 수 (비활성화/장애 시 null)
+    public Long count(int postId) {
+        return count(List.of(postId)).get(postId);
+    }
+
+    // 여러 게시글 순 방문자 수 (목록 페이지, 파이프라인 1회)
+    public Map<Integer, Long> count(List<Integer> postIds) {
+        if (!enabled || postIds.isEmpty()) return Collections.emptyMap();
+
+        try {
+            List<Object> sizes = redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    for (Integer postId : postIds) {
+                        operations.opsForHyperLogLog().size(KEY_PREFIX + postId);
+                    }
+                    return null;
+                }
+            });
+
+            Map<Integer, Long> counts = new HashMap<>();
+            for (int i = 0; i < postIds.size(); i++) {
+                counts.put(postIds.get(i), (Long) sizes.get(i));
+            }
+            return counts;
+        } catch (Exception e) {
+            System.out.println("❌ 순 방문자 조회 실패: " + e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    // 게시글 삭제 시 순 방문자 키 삭제 (전체 + 보관 기간 내 일별, 트랜잭션 안이면 커밋 후)
+    public void delete(int postId) {
+        Runnable task = () -> {
+            String totalKey = KEY_PREFIX + postId;
+            List<String> keys = new ArrayList<>();
+            keys.add(totalKey);
+            LocalDate today = LocalDate.now();
+            for (int i = 0; i <= retentionDays; i++) {
+                keys.add(totalKey + ":" + today.minusDays(i).format(DAY));
+            }
+
+            try {
+                redisTemplate.delete(keys);
+            } catch (Exception e) {
+                System.out.println("❌ 순 방문자 삭제 실패: " + e.getMessage());
+            }
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+}
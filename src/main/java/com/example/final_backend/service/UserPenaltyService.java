@@ -1,18 +1,21 @@
 package com.example.final_backend.service;
 
-import com.example.final_backend.entity.BadwordLogEntity;
-import com.example.final_backend.entity.PenaltyCountEntity;
+import com.example.final_backend.dto.PenaltyDto;
 import com.example.final_backend.entity.UserEntity;
 import com.example.final_backend.entity.UserLimitsEntity;
+import com.example.final_backend.repository.BadwordLogGroupRepository;
 import com.example.final_backend.repository.UserRepository;
-import com.example.final_backend.repository.PenaltyCountRepository;
 import com.example.final_backend.repository.UserLimitsRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,18 +27,34 @@ import java.util.Map;
 @Service
 @RequiredArgsConstructor
 public class UserPenaltyService {
-    private final PenaltyCountRepository penaltyCountRepository;
+    private final PenaltyCounterService penaltyCounterService;
     private final UserLimitsRepository userLimitsRepository;
     private final UserRepository userRepository;
+    private final RestrictionIndexService restrictionIndexService;
+    private final BadwordLogGroupRepository badwordLogGroupRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private static final int MAX_GROUP_PAGE_SIZE = 50;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        // 글 트랜잭션 커밋 후(afterCommit)에도 제한 저장은 새 트랜잭션으로 처리
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
     // 사용자 욕설 감지 횟수 조회
+    @Transactional(readOnly = true)
     public int getPenaltyCount(String userId) {
         UserEntity user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-        return user.getPenaltyCount() != null ? user.getPenaltyCount().getPenaltyCount() : 0;
+        return penaltyCounterService.getCount(user.getUserId());
     }
 
     // 사용자 제한 정보 조회 및 로그 조회 메서드
+    @Transactional(readOnly = true)
     public Map<String, Object> getLimitInfo(String userId) {
         UserEntity user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
@@ -51,71 +70,75 @@ public class UserPenaltyService {
             result.put("message", "제한 기록 없음");
         }
 
-        List<BadwordLogEntity> logs = user.getBadwordLogs();
-        result.put("logGroups", groupLogsByFive(logs, user));
+        // 전체 그룹 (DB에서 그룹 계산, 엔티티 컬렉션 로딩 없음)
+        result.put("logGroups", badwordLogGroupRepository.findGroups(user.getUserId(), 0,
+                badwordLogGroupRepository.countGroups(user.getUserId())));
 
         return result;
     }
 
-    // 5개씩 로그 그룹화
-    private List<Map<String, Object>> groupLogsByFive(List<BadwordLogEntity> logs, UserEntity user) {
-        List<Map<String, Object>> groups = new ArrayList<>();
-        if (logs == null || logs.size() < 5) return List.of();
-
-        for (int i = 0; i + 4 < logs.size(); i += 5) {
-            List<Map<String, Object>> group = new ArrayList<>();
-
-            for (int j = i; j < i + 5; j++) {
-                BadwordLogEntity log = logs.get(j);
-                Map<String, Object> logMap = new HashMap<>();
-                logMap.put("originalWord", log.getOriginalWord());
-                logMap.put("filteredWord", log.getFilteredWord());
-                logMap.put("createdAt", log.getCreatedAt());
-                group.add(logMap);
-            }
+    // 비속어 사용 이력 그룹 페이지 조회 (페이지 크기만큼의 그룹만 조회)
+    @Transactional(readOnly = true)
+    public PenaltyDto.LogGroupPage getLimitHistory(String userId, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_GROUP_PAGE_SIZE) {
+            throw new IllegalArgumentException("page는 0 이상, size는 1~" + MAX_GROUP_PAGE_SIZE + " 사이여야 합니다.");
+        }
 
-            // 마지막 로그의 createdAt 기준으로 startAt, endAt 설정
-            LocalDateTime startAt = logs.get(i + 4).getCreatedAt();  // 그룹의 마지막 로그
-            LocalDateTime endAt = startAt.plusHours(24);
+        UserEntity user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
 
-            Map<String, Object> groupInfo = new HashMap<>();
-            groupInfo.put("startDate", startAt);
-            groupInfo.put("endDate", endAt);
-            groupInfo.put("logs", group);
-            groups.add(groupInfo);
-        }
+        long totalGroups = badwordLogGroupRepository.countGroups(user.getUserId());
+        long from = (long) page * size;
+        List<PenaltyDto.LogGroup> groups = badwordLogGroupRepository.findGroups(
+                user.getUserId(), from, Math.min(from + size, totalGroups));
 
-        return groups;
+        return PenaltyDto.LogGroupPage.of(page, size, totalGroups, groups);
     }
 
-    // 사용자 패널티 관리
-    @Transactional
+    // 사용자 패널티 관리 (트랜잭션 안이면 커밋 후 → 롤백된 글은 횟수 증가/제한 없음)
+    // 횟수 증가 + 제한 판단은 Redis 스크립트 1회로 처리, penaltyCounts 반영은 PenaltyCounterService가 주기적으로 일괄 처리
     public void applyPenalty(int userId) {
-        UserEntity user = userRepository.findByUserId(userId)
-                .orElseThrow(() -> new IllegalArgumentException("사용자 없음"));
+        Runnable task = () -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> increaseAndLimit(userId));
+            } catch (Exception e) {
+                System.out.println("❌ 패널티 반영 실패: " + userId + " (" + e.getMessage() + ")");
+            }
+        };
 
-        // 기존 패널티 불러오기
-        PenaltyCountEntity existingPenalty = penaltyCountRepository.findByUserId(userId).orElse(null);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
 
-        // 패널티 증가 및 저장
-        PenaltyCountEntity updatedPenalty = PenaltyCountEntity.incrementPenalty(user, existingPenalty);
-        penaltyCountRepository.save(updatedPenalty);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
 
-        // 제한 처리
-        int penaltyCount = updatedPenalty.getPenaltyCount();
+    private void increaseAndLimit(int userId) {
+        PenaltyCounterService.Increment increment = penaltyCounterService.increment(userId);
+        if (!increment.limited()) return;
+
+        // 제한이 걸리는 경우에만 DB 조회 후 바로 저장 + 제한 인덱스 반영
+        UserEntity user = userRepository.findByUserId(userId)
+                .orElseThrow(() -> new IllegalArgumentException("사용자 없음"));
         UserLimitsEntity limit = userLimitsRepository.findByUserId(userId).orElse(null);
 
-        UserLimitsEntity.applyLimitIfNeeded(user, limit, penaltyCount)
-                .ifPresent(userLimitsRepository::save);
+        UserLimitsEntity.applyLimitIfNeeded(user, limit, increment.count())
+                .ifPresent(applied -> {
+                    userLimitsRepository.save(applied);
+                    restrictionIndexService.restrict(userId, applied.getEndDate());
+                });
     }
 
-    // 사용자 제한 상태 확인
+    // 사용자 제한 상태 확인 (메모리 인덱스 조회, 제한 기간이 끝난 경우에만 DB 수정)
     public void checkUserLimit(UserEntity user) {
-        if (user.getLimits() != null) {
-            user.getLimits().checkAndReleaseIfExpired();
-            userLimitsRepository.save(user.getLimits());  // 변경된 상태 DB에 저장
-
-            System.out.println("24시간 제한 자동 해제됨");
+        if (restrictionIndexService.isRestricted(user.getUserId())) {
+            throw new IllegalStateException("욕설 사용 5회로 24시간 동안 게시글 또는 댓글을 작성할 수 없습니다.");
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,137 @@
+package com.example.final_backend.service;
+
+import com.example.final_backend.repository.UserRepository;
+import com.example.final_backend.security.UserSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 인증용 사용자 스냅샷 캐시 (로그인 ID 기준)
+ * - 서버 메모리 LRU 캐시 (최대 개수 + TTL 만료), 없을 때만 DB 조회
+ * - 프로필 수정, 비밀번호 재설정, 회원 탈퇴 시 Redis pub/sub(user:invalidate)으로 모든 서버에서 제거
+ */
+
+@Service
+@RequiredArgsConstructor
+public class UserSnapshotCache implements MessageListener {
+    private static final String CHANNEL = "user:invalidate";
+
+    private final UserRepository userRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${auth.principal.cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${auth.principal.cache.ttl-ms:60000}")
+    private long ttlMs;
+
+    private Map<String, Entry> local;
+    private Counter hits;
+    private Counter misses;
+
+    private record Entry(UserSnapshot snapshot, long expireAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        // accessOrder = true : 가장 오래 사용하지 않은 항목부터 제거
+        this.local = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+
+        this.hits = Counter.builder("auth.principal.cache.hits").register(meterRegistry);
+        this.misses = Counter.builder("auth.principal.cache.misses").register(meterRegistry);
+        meterRegistry.gauge("auth.principal.cache.size", this, UserSnapshotCache::size);
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    // 스냅샷 조회 (없으면 DB 조회 후 캐시), 탈퇴 등으로 사용자가 없으면 null
+    public UserSnapshot get(String id) {
+        UserSnapshot snapshot = getLocal(id);
+        if (snapshot != null) {
+            hits.increment();
+            return snapshot;
+        }
+
+        misses.increment();
+        snapshot = userRepository.findById(id).map(UserSnapshot::of).orElse(null);
+        if (snapshot != null) {
+            putLocal(id, snapshot);
+        }
+        return snapshot;
+    }
+
+    // 사용자 정보 변경 시 모든 서버의 캐시에서 제거 (트랜잭션 안이면 커밋 후)
+    public void invalidate(String id) {
+        Runnable task = () -> {
+            removeLocal(id);
+            try {
+                redisTemplate.convertAndSend(CHANNEL, id);
+            } catch (Exception e) {
+                // 전파 실패 시 다른 서버는 TTL 만료 후 반영
+                System.out.println("❌ 사용자 캐시 무효화 전파 실패: " + e.getMessage());
+            }
+        };
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    // 다른 서버에서 보낸 무효화 반영
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        removeLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    public synchronized int size() {
+        return local.size();
+    }
+
+    private synchronized UserSnapshot getLocal(String id) {
+        Entry entry = local.get(id);
+        if (entry == null) return null;
+
+        if (entry.expireAt() < System.currentTimeMillis()) {
+            local.remove(id);
+            return null;
+        }
+        return entry.snapshot();
+    }
+
+    private synchronized void putLocal(String id, UserSnapshot snapshot) {
+        local.put(id, new Entry(snapshot, System.currentTimeMillis() + ttlMs));
+    }
+
+    private synchronized void removeLocal(String id) {
+        local.remove(id);
+    }
+}
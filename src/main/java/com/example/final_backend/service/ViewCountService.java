@@ -0,0 +1,121 @@
+package com.example.final_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 게시글 조회수 버퍼
+ * - 상세 조회마다 DB 쓰기 대신 서버 메모리 카운터(LongAdder, 게시글별) 증가 → 행 잠금 없음
+ * - 주기적으로 쌓인 증가분만 UPDATE posts SET count = count + ? 일괄 반영 (여러 서버여도 합산)
+ * - 응답 조회수 = DB 값 + 이 서버에서 아직 반영되지 않은 증가분
+ */
+
+@Service
+@RequiredArgsConstructor
+public class ViewCountService {
+    private static final String UPDATE_SQL = "UPDATE posts SET count = count + ? WHERE postId = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Integer, ViewCounter> counters = new ConcurrentHashMap<>();
+    private Counter flushedCounter;
+
+    // 누적 조회수와 DB에 반영한 조회수 (차이 = 반영 대기분)
+    private static class ViewCounter {
+        private final LongAdder total = new LongAdder();
+        private volatile long flushed;
+
+        long pending() {
+            return total.sum() - flushed;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        flushedCounter = Counter.builder("post.view.flushed")
+                .description("DB에 일괄 반영한 조회수")
+                .register(meterRegistry);
+        meterRegistry.gauge("post.view.pending.posts", counters, Map::size);
+    }
+
+    // 조회수 1 증가 (메모리)
+    public void increment(int postId) {
+        while (true) {
+            ViewCounter counter = counters.computeIfAbsent(postId, id -> new ViewCounter());
+            counter.total.increment();
+
+            // 반영 후 정리된 카운터에 증가했다면 새 카운터에 다시 증가
+            if (counters.get(postId) == counter) return;
+        }
+    }
+
+    // 아직 DB에 반영되지 않은 조회수
+    public long pending(int postId) {
+        ViewCounter counter = counters.get(postId);
+        return counter != null ? Math.max(0, counter.pending()) : 0;
+    }
+
+    // 쌓인 조회수 일괄 반영 (주기 실행과 종료 시 실행이 겹쳐도 같은 증가분을 두 번 반영하지 않도록 한 번에 하나만)
+    @Scheduled(fixedDelayString = "${post.view.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<Integer> postIds = new ArrayList<>();
+        List<Long> deltas = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+
+        for (Map.Entry<Integer, ViewCounter> entry : counters.entrySet()) {
+            long delta = entry.getValue().pending();
+
+            if (delta > 0) {
+                postIds.add(entry.getKey());
+                deltas.add(delta);
+                rows.add(new Object[]{delta, entry.getKey()});
+            } else {
+                // 한 주기 동안 조회가 없던 게시글은 정리
+                counters.computeIfPresent(entry.getKey(), (id, counter) -> counter.pending() == 0 ? null : counter);
+            }
+        }
+
+        if (rows.isEmpty()) return;
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, rows);
+        } catch (Exception e) {
+            // 반영 실패 시 증가분은 그대로 남아 다음 주기에 재시도
+            System.out.println("❌ 조회수 반영 실패: " + e.getMessage());
+            return;
+        }
+
+        long total = 0;
+        for (int i = 0; i < postIds.size(); i++) {
+            ViewCounter counter = counters.get(postIds.get(i));
+            if (counter != null) {
+                counter.flushed += deltas.get(i);
+            }
+            total += deltas.get(i);
+        }
+        flushedCounter.increment(total);
+    }
+
+    // 서버 종료 전 남은 조회수 반영
+    @PreDestroy
+    public void shutdown() {
+        try {
+            flush();
+        } catch (Exception e) {
+            System.out.println("❌ 종료 시 조회수 반영 실패: " + e.getMessage());
+        }
+    }
+}
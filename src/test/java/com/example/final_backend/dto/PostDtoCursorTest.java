@@ -0,0 +1,86 @@
+package com.example.final_backend.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PostDtoCursorTest {
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        PostDto.Cursor cursor = new PostDto.Cursor(LocalDateTime.of(2025, 3, 1, 12, 30, 15, 123_456_000), 42);
+
+        String encoded = cursor.encode();
+
+        // URL에 그대로 넣을 수 있는 문자만 사용
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(PostDto.Cursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripKeepsWholeSecondsAndNanos() {
+        PostDto.Cursor wholeSecond = new PostDto.Cursor(LocalDateTime.of(2025, 3, 1, 0, 0), 1);
+        PostDto.Cursor nanos = new PostDto.Cursor(LocalDateTime.of(2025, 3, 1, 0, 0, 0, 1), Integer.MAX_VALUE);
+
+        assertThat(PostDto.Cursor.decode(wholeSecond.encode())).isEqualTo(wholeSecond);
+        assertThat(PostDto.Cursor.decode(nanos.encode())).isEqualTo(nanos);
+    }
+
+    @Test
+    void emptyCursorIsFirstPage() {
+        assertThat(PostDto.Cursor.decode(null)).isEqualTo(PostDto.Cursor.FIRST);
+        assertThat(PostDto.Cursor.decode("")).isEqualTo(PostDto.Cursor.FIRST);
+        assertThat(PostDto.Cursor.decode("  ")).isEqualTo(PostDto.Cursor.FIRST);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> PostDto.Cursor.decode("!!!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PostDto.Cursor.decode(encodeRaw("2025-03-01T00:00")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PostDto.Cursor.decode(encodeRaw("yesterday|42")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PostDto.Cursor.decode(encodeRaw("2025-03-01T00:00|abc")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void pageCursorPointsAtLastItem() {
+        PostDto.CheckPostResponse first = post(10, LocalDateTime.of(2025, 3, 2, 9, 0));
+        PostDto.CheckPostResponse last = post(7, LocalDateTime.of(2025, 3, 1, 9, 0));
+
+        PostDto.CursorPage page = PostDto.CursorPage.of(new SliceImpl<>(List.of(first, last), PageRequest.of(0, 2), true));
+
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getSize()).isEqualTo(2);
+        assertThat(PostDto.Cursor.decode(page.getNextCursor()))
+                .isEqualTo(new PostDto.Cursor(last.getCreatedAt(), last.getPostId()));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        PostDto.CheckPostResponse only = post(3, LocalDateTime.of(2025, 3, 1, 9, 0));
+
+        PostDto.CursorPage page = PostDto.CursorPage.of(new SliceImpl<>(List.of(only), PageRequest.of(0, 2), false));
+
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    private static PostDto.CheckPostResponse post(int postId, LocalDateTime createdAt) {
+        return PostDto.CheckPostResponse.builder().postId(postId).createdAt(createdAt).build();
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
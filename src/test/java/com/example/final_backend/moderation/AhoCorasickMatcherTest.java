@@ -0,0 +1,48 @@
+package com.example.final_backend.moderation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AhoCorasickMatcherTest {
+
+    @Test
+    void emptyMatcherMatchesNothing() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.empty();
+
+        assertThat(matcher.isEmpty()).isTrue();
+        assertThat(matcher.containsAny("아무 문장")).isFalse();
+        assertThat(matcher.findAll("아무 문장")).isEmpty();
+    }
+
+    @Test
+    void findsOverlappingAndNestedWords() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("he", "she", "his", "hers"));
+
+        assertThat(matcher.findAll("ushers")).containsExactly(
+                new AhoCorasickMatcher.Match(1, 4, "she"),
+                new AhoCorasickMatcher.Match(2, 4, "he"),
+                new AhoCorasickMatcher.Match(2, 6, "hers"));
+    }
+
+    @Test
+    void followsFailureLinksForKorean() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("시발", "발놈"));
+
+        assertThat(matcher.findAll("시시발놈")).containsExactly(
+                new AhoCorasickMatcher.Match(1, 3, "시발"),
+                new AhoCorasickMatcher.Match(2, 4, "발놈"));
+    }
+
+    @Test
+    void ignoresCaseAndBlankWords() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("Fxxk", " ", ""));
+
+        assertThat(matcher.size()).isEqualTo(1);
+        assertThat(matcher.containsAny("what the FXXK")).isTrue();
+        assertThat(matcher.containsAny("fine")).isFalse();
+        assertThat(matcher.containsAny(null)).isFalse();
+    }
+}
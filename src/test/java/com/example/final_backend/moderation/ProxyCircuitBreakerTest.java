@@ -0,0 +1,159 @@
+package com.example.final_backend.moderation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProxyCircuitBreakerTest {
+
+    // 창 10건, 최소 5건, 실패율 50%, 지연(100ms 이상) 비율 80%, 차단 1초, 시험 호출 2건
+    private static final long SLOW = 100;
+    private static final long FAST = 10;
+    private static final long OPEN_DURATION = 1000;
+
+    private long now;
+    private ProxyCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        now = 0;
+        breaker = new ProxyCircuitBreaker(10, 5, 50, 80, SLOW, OPEN_DURATION, 2, () -> now);
+    }
+
+    @Test
+    void staysClosedBelowMinimumCalls() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onError(FAST);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(ProxyCircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    void opensWhenFailureRateReachesThreshold() {
+        for (int i = 0; i < 5; i++) {
+            breaker.onSuccess(FAST);
+        }
+        for (int i = 0; i < 4; i++) {
+            breaker.onError(FAST);
+        }
+        assertThat(breaker.getState()).isEqualTo(ProxyCircuitBreaker.State.CLOSED);   // 4/9
+
+        breaker.onError(FAST);                                                         // 5/10
+        assertThat(breaker.getState()).isEqualTo(ProxyCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void opensWhenSlowCallRateReachesThreshold() {
+        breaker.onSuccess(FAST);
+        for (int i = 0; i < 3; i++) {
+            breaker.onSuccess(SLOW);
+        }
+        assertThat(breaker.getState()).isEqualTo(ProxyCircuitBreaker.State.CLOSED);   // 최소 호출 수 미만
+
+        breaker.onSuccess(SLOW);                                                       // 4/5 = 80%
+        assertThat(breaker.getState()).isEqualTo(ProxyCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void slidingWindowForgetsOldOutcomes() {
+        for (int i = 0; i < 10; i++) {
+            breaker.onSuccess(FAST);
+        }
+        for (int i = 0; i < 4; i++) {
+            breaker.onError(FAST);                                                     // 4/10
+        }
+        assertThat(breaker.getState()).isEqualTo(ProxyCircuitBreaker.State.CLOSED);
+
+        // 누적이면 5/15지만 최근 10건 기준 5/10
+        breaker.onError(FAST);
+        assertThat(breaker.getState()).isEqualTo(ProxyCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void openRejectsUntilDurationElapsesThenHalfOpens() {
+        open();
+
+        now += OPEN_DURATION - 1;
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+        assertThat(breaker.getState()).isEqualTo(ProxyCircuitBreaker.State.OPEN);
+
+        now += 1;
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(ProxyCircuitBreaker.State.HALF_OPEN);
+    }
+
+    @Test
+    void resultsWhileOpenAreIgnored() {
+        open();
+        breaker.onSuccess(FAST);
+
+        assertThat(breaker.getState()).isEqualTo(ProxyCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void halfOpenAllowsOnlyPermitCount() {
+        halfOpen();
+
+        assertThat(breaker.tryAcquirePermission()).isTrue();                           // 전환 시 1건 포함 2건
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+
+        // 호출하지 못한 허가는 반납
+        breaker.releasePermission();
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    void halfOpenClosesAfterPermitsSucceedAndResetsWindow() {
+        halfOpen();
+        breaker.tryAcquirePermission();
+
+        breaker.onSuccess(FAST);
+        assertThat(breaker.getState()).isEqualTo(ProxyCircuitBreaker.State.HALF_OPEN);
+        breaker.onSuccess(FAST);
+        assertThat(breaker.getState()).isEqualTo(ProxyCircuitBreaker.State.CLOSED);
+
+        // 열리기 전 실패 기록은 남지 않음
+        for (int i = 0; i < 4; i++) {
+            breaker.onError(FAST);
+        }
+        assertThat(breaker.getState()).isEqualTo(ProxyCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void halfOpenReopensOnFailure() {
+        halfOpen();
+        breaker.onError(FAST);
+
+        assertThat(breaker.getState()).isEqualTo(ProxyCircuitBreaker.State.OPEN);
+
+        // 차단 시간은 다시 열린 시각부터
+        now += OPEN_DURATION - 1;
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    void halfOpenReopensOnSlowSuccess() {
+        halfOpen();
+        breaker.onSuccess(SLOW);
+
+        assertThat(breaker.getState()).isEqualTo(ProxyCircuitBreaker.State.OPEN);
+    }
+
+    private void open() {
+        for (int i = 0; i < 5; i++) {
+            breaker.onError(FAST);
+        }
+        assertThat(breaker.getState()).isEqualTo(ProxyCircuitBreaker.State.OPEN);
+    }
+
+    private void halfOpen() {
+        open();
+        now += OPEN_DURATION;
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(ProxyCircuitBreaker.State.HALF_OPEN);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.final_backend.moderation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SentenceSegmenterTest {
+
+    @Test
+    void splitsOnTerminatorsAndKeepsTrailingWhitespace() {
+        List<String> segments = SentenceSegmenter.split("안녕하세요. 반갑습니다!! 뭐 하세요?\n다음 줄");
+
+        assertThat(segments).containsExactly("안녕하세요. ", "반갑습니다!! ", "뭐 하세요?\n", "다음 줄");
+    }
+
+    @Test
+    void joinedSegmentsEqualOriginal() {
+        String text = "  앞 공백. 말줄임…  그리고。끝\n\n";
+
+        assertThat(String.join("", SentenceSegmenter.split(text))).isEqualTo(text);
+    }
+
+    @Test
+    void textWithoutTerminatorIsOneSegment() {
+        assertThat(SentenceSegmenter.split("문장 부호 없는 글")).containsExactly("문장 부호 없는 글");
+    }
+
+    @Test
+    void emptyOrNullTextHasNoSegments() {
+        assertThat(SentenceSegmenter.split("")).isEmpty();
+        assertThat(SentenceSegmenter.split(null)).isEmpty();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.final_backend.service;
+
+import com.example.final_backend.repository.BadwordLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class BadwordDictionaryServiceTest {
+
+    // 프록시 대신 사용하는 판정기 (사전에 한 번도 기록되지 않은 단어·활용형 포함)
+    private static final List<String> PROXY_BADWORDS = List.of("시발", "씨발", "병신", "ㅂㅅ", "개새");
+    private static final Predicate<String> PROXY = text -> PROXY_BADWORDS.stream().anyMatch(text::contains);
+
+    private SimpleMeterRegistry meterRegistry;
+    private BadwordDictionaryService dictionary;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dictionary = new BadwordDictionaryService(mock(BadwordLogRepository.class), meterRegistry);
+        ReflectionTestUtils.setField(dictionary, "enabled", true);
+        ReflectionTestUtils.setField(dictionary, "seedWords", "시발,병신");
+        ReflectionTestUtils.setField(dictionary, "maxWordLength", 10);
+        ReflectionTestUtils.setField(dictionary, "skipMaxLength", 30);
+        ReflectionTestUtils.setField(dictionary, "sampleRate", 0.0);
+        dictionary.reload();
+    }
+
+    @Test
+    void shortTextWithoutDictionaryWordSkipsProxy() {
+        assertThat(dictionary.screen("오늘 날씨 좋네요")).isEqualTo(BadwordDictionaryService.Screening.SKIP);
+        assertThat(skipped()).isEqualTo(1);
+    }
+
+    @Test
+    void dictionaryWordIsSentToProxy() {
+        assertThat(dictionary.screen("이 시발 뭐야")).isEqualTo(BadwordDictionaryService.Screening.PROXY);
+        assertThat(dictionary.screen("시발놈이 또 왔네")).isEqualTo(BadwordDictionaryService.Screening.PROXY);
+    }
+
+    @Test
+    void longTextIsSentToProxy() {
+        String text = "오늘은 날씨가 좋아서 공원에 산책을 다녀왔는데 사람이 정말 많았어요";
+        assertThat(text.length()).isGreaterThan(30);
+
+        assertThat(dictionary.screen(text)).isEqualTo(BadwordDictionaryService.Screening.PROXY);
+    }
+
+    @Test
+    void emptyDictionaryNeverSkipsProxy() {
+        ReflectionTestUtils.setField(dictionary, "seedWords", "");
+        dictionary.reload();
+
+        assertThat(dictionary.screen("오늘 날씨 좋네요")).isEqualTo(BadwordDictionaryService.Screening.PROXY);
+    }
+
+    @Test
+    void disabledOrZeroLengthNeverSkipsProxy() {
+        ReflectionTestUtils.setField(dictionary, "skipMaxLength", 0);
+        assertThat(dictionary.screen("오늘 날씨 좋네요")).isEqualTo(BadwordDictionaryService.Screening.PROXY);
+
+        ReflectionTestUtils.setField(dictionary, "skipMaxLength", 30);
+        ReflectionTestUtils.setField(dictionary, "enabled", false);
+        assertThat(dictionary.screen("오늘 날씨 좋네요")).isEqualTo(BadwordDictionaryService.Screening.PROXY);
+    }
+
+    @Test
+    void sampledMissIsCountedAndLearned() {
+        ReflectionTestUtils.setField(dictionary, "sampleRate", 1.0);
+
+        // 사전에 없는 새 단어 → 생략 대상이지만 표본으로 프록시에 보냄
+        assertThat(dictionary.screen("ㅂㅅ같은 소리 하네")).isEqualTo(BadwordDictionaryService.Screening.SAMPLE);
+        dictionary.recordSample(true);
+        dictionary.learn("ㅂㅅ같은 소리 하네", "*** 소리 하네");
+
+        assertThat(meterRegistry.counter("badword.prefilter.missed").count()).isEqualTo(1);
+        assertThat(dictionary.screen("ㅂㅅ같은 말")).isEqualTo(BadwordDictionaryService.Screening.PROXY);
+    }
+
+    @Test
+    void missesAreOnlyShortTextsWithUnknownWords() {
+        List<String> texts = List.of(
+                "오늘 날씨 좋네요",
+                "이 시발 뭐야",
+                "시발놈이 또 왔네",        // 사전 단어의 활용형
+                "ㅂㅅ같은 소리 하네",       // 사전에 없는 새 단어 (짧은 글 → 누락 허용)
+                "저녁 뭐 먹지",
+                "병신아 꺼져",
+                "어제 본 영화가 너무 길어서 중간에 졸았는데 씨발 결말은 기억이 안 나네");  // 새 단어지만 긴 글
+
+        List<String> missed = new ArrayList<>();
+        int skipped = 0;
+
+        for (String text : texts) {
+            if (dictionary.screen(text) == BadwordDictionaryService.Screening.SKIP) {
+                skipped++;
+                if (PROXY.test(text)) missed.add(text);
+            }
+        }
+
+        assertThat(skipped).isEqualTo(3);
+        assertThat(missed).containsExactly("ㅂㅅ같은 소리 하네");
+    }
+
+    @Test
+    void maskHidesDictionaryWords() {
+        assertThat(dictionary.mask("이 시발 뭐야")).isEqualTo("이 ** 뭐야");
+    }
+
+    private double skipped() {
+        return meterRegistry.counter("badword.prefilter.screened", "result", "skipped").count();
+    }
+}
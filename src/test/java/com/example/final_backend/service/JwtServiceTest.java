@@ -0,0 +1,97 @@
+package com.example.final_backend.service;
+
+import com.example.final_backend.config.JwtConfig;
+import com.example.final_backend.entity.UserEntity;
+import com.example.final_backend.security.VerifiedClaims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtServiceTest {
+
+    private static final long REUSE_GRACE_MS = 10_000;
+
+    private RedisService redisService;
+    private JwtService jwtService;
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecret("test-secret-key-for-hs256-at-least-32-bytes");
+
+        redisService = mock(RedisService.class);
+        jwtService = new JwtService(jwtConfig, redisService, mock(TokenBlacklistCache.class));
+        ReflectionTestUtils.setField(jwtService, "reuseGraceMs", REUSE_GRACE_MS);
+        jwtService.init();
+
+        user = UserEntity.builder().id("tester").username("테스터").email("tester@example.com").build();
+    }
+
+    @Test
+    void rotatedReturnsNewTokenForSameSession() {
+        VerifiedClaims old = jwtService.verify(jwtService.generateRefreshToken(user, "session-1"));
+        ArgumentCaptor<String> newTokenId = ArgumentCaptor.forClass(String.class);
+        when(redisService.rotateSession(eq("tester"), eq("session-1"), eq(old.tokenId()), newTokenId.capture(),
+                anyLong(), eq(REUSE_GRACE_MS))).thenReturn(RedisService.Rotation.ROTATED);
+
+        VerifiedClaims rotated = jwtService.verify(jwtService.rotateRefreshToken(user, old));
+
+        assertThat(rotated.isRefreshToken()).isTrue();
+        assertThat(rotated.userId()).isEqualTo("tester");
+        assertThat(rotated.sessionId()).isEqualTo("session-1");
+        assertThat(rotated.tokenId()).isNotEqualTo(old.tokenId()).isEqualTo(newTokenId.getValue());
+    }
+
+    @Test
+    void concurrentRotationKeepsSessionButRejectsRequest() {
+        VerifiedClaims old = refreshClaims();
+        when(redisService.rotateSession(anyString(), anyString(), anyString(), anyString(), anyLong(), anyLong()))
+                .thenReturn(RedisService.Rotation.CONCURRENT);
+
+        assertThatThrownBy(() -> jwtService.rotateRefreshToken(user, old))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void reusedTokenIsRejected() {
+        VerifiedClaims old = refreshClaims();
+        when(redisService.rotateSession(anyString(), anyString(), anyString(), anyString(), anyLong(), anyLong()))
+                .thenReturn(RedisService.Rotation.REUSED);
+
+        assertThatThrownBy(() -> jwtService.rotateRefreshToken(user, old))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void missingSessionIsRejected() {
+        VerifiedClaims old = refreshClaims();
+        when(redisService.rotateSession(anyString(), anyString(), anyString(), anyString(), anyLong(), anyLong()))
+                .thenReturn(RedisService.Rotation.NOT_FOUND);
+
+        assertThatThrownBy(() -> jwtService.rotateRefreshToken(user, old))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void refreshTokenIsSavedAsSessionOnLogin() {
+        VerifiedClaims claims = jwtService.verify(jwtService.generateRefreshToken(user, "session-2"));
+
+        assertThat(claims.isLegacy()).isFalse();
+        verify(redisService).saveSession(eq("tester"), eq("session-2"), eq(claims.tokenId()), anyLong());
+    }
+
+    private VerifiedClaims refreshClaims() {
+        return jwtService.verify(jwtService.generateRefreshToken(user, "session-1"));
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.final_backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class PostSearchIndexTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    @Test
+    void appendsInOrder() {
+        PostSearchIndex.PostingList list = new PostSearchIndex.PostingList();
+        list.put(1, 3);
+        list.put(5, 1);
+        list.put(9, 4);
+
+        assertThat(ids(list)).containsExactly(1, 5, 9);
+        assertThat(weights(list)).containsExactly(3, 1, 4);
+    }
+
+    @Test
+    void putOutOfOrderKeepsIdsSorted() {
+        PostSearchIndex.PostingList list = new PostSearchIndex.PostingList();
+        list.put(10, 1);
+        list.put(3, 2);
+        list.put(7, 3);
+        list.put(1, 4);
+
+        assertThat(ids(list)).containsExactly(1, 3, 7, 10);
+        assertThat(weights(list)).containsExactly(4, 2, 3, 1);
+
+        // 이후 추가는 다시 끝에 붙음
+        list.put(11, 5);
+        assertThat(ids(list)).containsExactly(1, 3, 7, 10, 11);
+    }
+
+    @Test
+    void putExistingIdOverwritesWeight() {
+        PostSearchIndex.PostingList list = new PostSearchIndex.PostingList();
+        list.put(2, 1);
+        list.put(4, 1);
+        list.put(6, 1);
+
+        list.put(4, 9);
+        list.put(6, 7);
+
+        assertThat(ids(list)).containsExactly(2, 4, 6);
+        assertThat(weights(list)).containsExactly(1, 9, 7);
+    }
+
+    @Test
+    void removeFirstMiddleAndLast() {
+        PostSearchIndex.PostingList list = new PostSearchIndex.PostingList();
+        for (int id = 1; id <= 5; id++) {
+            list.put(id, id * 10);
+        }
+
+        assertThat(list.remove(1)).isTrue();
+        assertThat(ids(list)).containsExactly(2, 3, 4, 5);
+
+        assertThat(list.remove(3)).isTrue();
+        assertThat(ids(list)).containsExactly(2, 4, 5);
+        assertThat(weights(list)).containsExactly(20, 40, 50);
+
+        assertThat(list.remove(5)).isTrue();
+        assertThat(ids(list)).containsExactly(2, 4);
+
+        // 마지막 글 삭제 후에는 더 작은 postId도 끝에 추가
+        list.put(5, 1);
+        assertThat(ids(list)).containsExactly(2, 4, 5);
+        assertThat(weights(list)).containsExactly(20, 40, 1);
+    }
+
+    @Test
+    void removeMissingIdReturnsFalse() {
+        PostSearchIndex.PostingList list = new PostSearchIndex.PostingList();
+        assertThat(list.remove(1)).isFalse();
+
+        list.put(2, 1);
+        list.put(4, 1);
+
+        assertThat(list.remove(3)).isFalse();
+        assertThat(list.remove(5)).isFalse();
+        assertThat(ids(list)).containsExactly(2, 4);
+    }
+
+    @Test
+    void removeAllLeavesEmptyList() {
+        PostSearchIndex.PostingList list = new PostSearchIndex.PostingList();
+        list.put(1, 1);
+        list.put(2, 1);
+
+        list.remove(2);
+        list.remove(1);
+
+        assertThat(size(list)).isZero();
+        list.put(7, 2);
+        assertThat(ids(list)).containsExactly(7);
+    }
+
+    @Test
+    void shrinksAfterMostEntriesAreRemoved() {
+        PostSearchIndex.PostingList list = new PostSearchIndex.PostingList();
+        for (int id = 1; id <= 200; id++) {
+            list.put(id, 1);
+        }
+        int grown = data(list).length;
+        assertThat(grown).isGreaterThanOrEqualTo(400);
+
+        for (int id = 200; id > 10; id--) {
+            list.remove(id);
+        }
+
+        assertThat(data(list).length).isLessThan(grown / 4);
+        assertThat(ids(list)).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+    }
+
+    @Test
+    void multiByteDeltasAndWeights() {
+        PostSearchIndex.PostingList list = new PostSearchIndex.PostingList();
+        list.put(1, 127);                      // 1바이트 최대
+        list.put(1 + 128, 128);                // 차이/가중치 2바이트
+        list.put(1 + 128 + 20_000, 70_000);    // 차이 3바이트 (> 16383)
+        list.put(Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+        assertThat(ids(list)).containsExactly(1, 129, 20_129, Integer.MAX_VALUE);
+        assertThat(weights(list)).containsExactly(127, 128, 70_000, Integer.MAX_VALUE);
+
+        // 다시 압축해도 같은 값
+        list.put(64, 16_384);
+        assertThat(ids(list)).containsExactly(1, 64, 129, 20_129, Integer.MAX_VALUE);
+        assertThat(weights(list)).containsExactly(127, 16_384, 128, 70_000, Integer.MAX_VALUE);
+    }
+
+    @Test
+    void searchRanksTitleMatchesFirstThenRecent() throws SQLException {
+        PostSearchIndex index = build(
+                row(1, "공지", "검색 색인 설명"),
+                row(2, "검색 색인", "내용"),
+                row(3, "잡담", "아무 말"),
+                row(5, "질문", "검색 결과가 이상해요"));
+
+        // 제목 3점 > 내용 1점, 같은 점수면 큰 postId 먼저
+        assertThat(index.search("검색")).containsExactly(2, 5, 1);
+        assertThat(index.searchRecent("검색")).containsExactly(5, 2, 1);
+        assertThat(index.search("없는말")).isEmpty();
+    }
+
+    @Test
+    void nonAdjacentBigramsAreOnlyCandidates() throws SQLException {
+        PostSearchIndex index = build(
+                row(1, "가나 나다", ""),
+                row(2, "가나다라", ""));
+
+        // 바이그램(가나, 나다)은 둘 다 있지만 1번은 떨어져 있음 → matches로 걸러냄
+        assertThat(index.search("가나다")).containsExactlyInAnyOrder(1, 2);
+        assertThat(PostSearchIndex.matches("가나다", "가나 나다", "")).isFalse();
+        assertThat(PostSearchIndex.matches("가나다", "가나다라", "")).isTrue();
+        assertThat(PostSearchIndex.matches("ABC", "", "xx abc!")).isTrue();
+    }
+
+    @Test
+    void shortKeywordOrNotBuiltReturnsNull() throws SQLException {
+        assertThat(newIndex().search("검색")).isNull();
+
+        PostSearchIndex index = build(row(1, "검색", "내용"));
+        assertThat(index.search("검")).isNull();
+        assertThat(index.search(" 검 ")).isNull();
+        assertThat(index.search("!?")).isNull();
+    }
+
+    @Test
+    void changesDuringBuildAreReappliedToNewIndex() throws SQLException {
+        PostSearchIndex index = newIndex();
+        ResultSet[] snapshot = {row(1, "사과 이야기", ""), row(2, "포도", "")};
+
+        // DB 스냅샷을 읽는 도중 작성/수정/삭제 반영 (스냅샷에는 아직 이전 상태)
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(snapshot[0]);
+            index.put(3, null, null, "바나나", "");
+            index.put(2, "포도", "", "딸기", "");
+            index.remove(1, "사과 이야기", "");
+            handler.processRow(snapshot[1]);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        index.build();
+
+        assertThat(index.search("바나나")).containsExactly(3);
+        assertThat(index.search("딸기")).containsExactly(2);
+        assertThat(index.search("포도")).isEmpty();
+        assertThat(index.search("사과")).isEmpty();
+    }
+
+    @Test
+    void ownEventIsIgnored() {
+        PostSearchIndex index = newIndex();
+        String nodeId = (String) ReflectionTestUtils.getField(index, "nodeId");
+
+        index.onMessage(message("{\"node\":\"" + nodeId + "\",\"postId\":7}"), null);
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void otherNodeEventReplacesOldBigramsWithCurrentRow() throws SQLException {
+        PostSearchIndex index = build(row(7, "옛날 제목", ""));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(row(7, "새 제목", ""));
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), eq(7));
+
+        index.onMessage(message("{\"node\":\"other\",\"postId\":7,\"oldTitle\":\"옛날 제목\",\"oldContent\":\"\"}"), null);
+
+        assertThat(index.search("옛날")).isEmpty();
+        assertThat(index.search("제목")).containsExactly(7);
+    }
+
+    @SuppressWarnings("unchecked")
+    private PostSearchIndex newIndex() {
+        PostSearchIndex index = new PostSearchIndex(jdbcTemplate, mock(RedisTemplate.class),
+                mock(RedisMessageListenerContainer.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(index, "enabled", true);
+        index.init();
+        return index;
+    }
+
+    private PostSearchIndex build(ResultSet... rows) {
+        PostSearchIndex index = newIndex();
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (ResultSet row : rows) {
+                handler.processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        index.build();
+        return index;
+    }
+
+    private static ResultSet row(int postId, String title, String content) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getInt("postId")).thenReturn(postId);
+        when(rs.getString("title")).thenReturn(title);
+        when(rs.getString("content")).thenReturn(content);
+        return rs;
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage("post:search".getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int[] ids(PostSearchIndex.PostingList list) {
+        return decode(list)[0];
+    }
+
+    private static int[] weights(PostSearchIndex.PostingList list) {
+        return decode(list)[1];
+    }
+
+    private static int[][] decode(PostSearchIndex.PostingList list) {
+        int[] ids = new int[size(list)];
+        int[] weights = new int[size(list)];
+        list.decode(ids, weights);
+        return new int[][]{ids, weights};
+    }
+
+    private static int size(PostSearchIndex.PostingList list) {
+        return (int) ReflectionTestUtils.getField(list, "size");
+    }
+
+    private static byte[] data(PostSearchIndex.PostingList list) {
+        return (byte[]) ReflectionTestUtils.getField(list, "data");
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.final_backend.service;
+
+import com.example.final_backend.moderation.ProxyCircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProxyCallGuardTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProxyCallGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        guard = new ProxyCallGuard(meterRegistry);
+        ReflectionTestUtils.setField(guard, "windowSize", 10);
+        ReflectionTestUtils.setField(guard, "minimumCalls", 5);
+        ReflectionTestUtils.setField(guard, "failureRateThreshold", 50);
+        ReflectionTestUtils.setField(guard, "slowCallRateThreshold", 80);
+        ReflectionTestUtils.setField(guard, "slowCallMs", 60_000L);
+        ReflectionTestUtils.setField(guard, "openDurationMs", 60_000L);
+        ReflectionTestUtils.setField(guard, "halfOpenPermits", 1);
+        ReflectionTestUtils.setField(guard, "maxConcurrent", 1);
+        ReflectionTestUtils.setField(guard, "maxWaitMs", 0L);
+        guard.init();
+    }
+
+    @Test
+    void bulkheadFullFallsBackWithoutCalling() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // 유일한 자리를 차지한 채 대기하는 호출
+        Thread holder = new Thread(() -> guard.execute(() -> {
+            entered.countDown();
+            await(release);
+            return "held";
+        }, result -> false, () -> "fallback"));
+        holder.start();
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        AtomicInteger calls = new AtomicInteger();
+        String result = guard.execute(() -> {
+            calls.incrementAndGet();
+            return "called";
+        }, r -> false, () -> "fallback");
+
+        assertThat(result).isEqualTo("fallback");
+        assertThat(calls).hasValue(0);
+        assertThat(rejected("bulkhead_full")).isEqualTo(1);
+
+        // 자리가 반납되면 다시 호출
+        release.countDown();
+        holder.join(5000);
+        assertThat(guard.execute(() -> "called", r -> false, () -> "fallback")).isEqualTo("called");
+    }
+
+    @Test
+    void openCircuitFallsBackWithoutCalling() {
+        for (int i = 0; i < 5; i++) {
+            guard.execute(() -> "error", r -> true, () -> "fallback");
+        }
+        assertThat(guard.getState()).isEqualTo(ProxyCircuitBreaker.State.OPEN);
+
+        AtomicInteger calls = new AtomicInteger();
+        String result = guard.execute(() -> {
+            calls.incrementAndGet();
+            return "called";
+        }, r -> false, () -> "fallback");
+
+        assertThat(result).isEqualTo("fallback");
+        assertThat(calls).hasValue(0);
+        assertThat(rejected("circuit_open")).isEqualTo(1);
+    }
+
+    @Test
+    void thrownCallCountsAsFailureAndReleasesBulkhead() {
+        for (int i = 0; i < 5; i++) {
+            try {
+                guard.execute(() -> {
+                    throw new IllegalStateException("proxy down");
+                }, r -> false, () -> "fallback");
+            } catch (IllegalStateException ignored) {
+                // 예외는 호출 측으로 전달
+            }
+        }
+
+        assertThat(guard.getState()).isEqualTo(ProxyCircuitBreaker.State.OPEN);
+        assertThat(rejected("bulkhead_full")).isZero();
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.counter("moderation.proxy.rejected", "reason", reason).count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}